@@ -0,0 +1,56 @@
+package graph.bench;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PreparedDAG;
+import graph.model.CSRGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DagPathBenchmark {
+    @Param({"10000", "200000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    private CSRGraph graph;
+    private PreparedDAG prepared;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(GraphShapes.Shape.DAG, vertices, degree, 42);
+        prepared = new PreparedDAG(graph);
+    }
+
+    @Benchmark
+    public double[] shortestPaths(EdgeCounter counter) {
+        counter.add(graph);
+        return new DAGShortestPath().findShortestPaths(graph, 0);
+    }
+
+    @Benchmark
+    public DAGShortestPath.ShortestPathResult shortestPathTree(EdgeCounter counter) {
+        counter.add(graph);
+        return new DAGShortestPath().findShortestPathTree(graph, 0);
+    }
+
+    @Benchmark
+    public double[] preparedShortestPaths(EdgeCounter counter) {
+        counter.add(graph);
+        return prepared.shortestPaths(0);
+    }
+
+    @Benchmark
+    public DAGLongestPath.CriticalPathResult criticalPathAllSources(EdgeCounter counter) {
+        counter.add(graph);
+        return new DAGLongestPath().findCriticalPathAllSources(graph);
+    }
+}
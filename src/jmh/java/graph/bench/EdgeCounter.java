@@ -0,0 +1,24 @@
+package graph.bench;
+
+import graph.model.GraphView;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Reported by JMH as an extra "edges" throughput column, i.e. edges per second
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class EdgeCounter {
+    public long edges;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        edges = 0;
+    }
+
+    void add(GraphView graph) {
+        edges += graph.getEdgeCount();
+    }
+}
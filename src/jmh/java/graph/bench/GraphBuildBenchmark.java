@@ -0,0 +1,67 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Turning parallel edge arrays into a graph: one Graph.addEdge per arc,
+// the sequential CSRGraph.fromEdges, and GraphBuilder's parallel scatter.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GraphBuildBenchmark {
+    @Param({"1000000"})
+    public int vertices;
+
+    @Param({"8"})
+    public int degree;
+
+    private int[] src;
+    private int[] dst;
+    private double[] w;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int m = vertices * degree;
+        SplittableRandom random = new SplittableRandom(42);
+        src = new int[m];
+        dst = new int[m];
+        w = new double[m];
+        for (int i = 0; i < m; i++) {
+            src[i] = random.nextInt(vertices);
+            dst[i] = random.nextInt(vertices);
+            w[i] = 1 + random.nextInt(10);
+        }
+    }
+
+    @Benchmark
+    public Graph addEdgeLoop() {
+        Graph graph = new Graph(vertices, true);
+        for (int i = 0; i < src.length; i++) {
+            graph.addEdge(src[i], dst[i], w[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CSRGraph fromEdges() {
+        return CSRGraph.fromEdges(vertices, true, src, dst, w, src.length);
+    }
+
+    @Benchmark
+    public CSRGraph builderCSR() {
+        return new GraphBuilder(vertices, true).buildCSR(src, dst, w);
+    }
+
+    @Benchmark
+    public Graph builderGraph() {
+        return new GraphBuilder(vertices, true).buildGraph(src, dst, w);
+    }
+}
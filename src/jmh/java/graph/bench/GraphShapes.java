@@ -0,0 +1,60 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.util.EdgeList;
+
+import java.util.SplittableRandom;
+
+// Benchmark inputs generated in O(E): `degree` is the average out-degree.
+public final class GraphShapes {
+    public enum Shape {
+        // Arcs only go from lower to higher ids
+        DAG,
+        // Uniform random arcs; above degree 1 most vertices form one giant SCC
+        RANDOM,
+        // Strongly connected clusters of CLUSTER_SIZE vertices chained by forward arcs
+        CLUSTERED
+    }
+
+    static final int CLUSTER_SIZE = 32;
+
+    private GraphShapes() {
+    }
+
+    public static CSRGraph generate(Shape shape, int n, int degree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long m = (long) n * degree;
+        EdgeList edges = new EdgeList((int) Math.min(Integer.MAX_VALUE - 8, m + n));
+
+        switch (shape) {
+            case DAG:
+                for (long i = 0; i < m; i++) {
+                    int u = random.nextInt(n - 1);
+                    int v = u + 1 + random.nextInt(n - u - 1);
+                    edges.add(u, v, 1 + random.nextInt(10));
+                }
+                break;
+            case RANDOM:
+                for (long i = 0; i < m; i++) {
+                    edges.add(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(10));
+                }
+                break;
+            case CLUSTERED:
+                for (int u = 0; u < n; u++) {
+                    int clusterStart = u - u % CLUSTER_SIZE;
+                    int clusterEnd = Math.min(n, clusterStart + CLUSTER_SIZE);
+                    // A ring makes each cluster strongly connected
+                    edges.add(u, u + 1 < clusterEnd ? u + 1 : clusterStart, 1);
+                    for (int d = 1; d < degree; d++) {
+                        if (random.nextInt(4) == 0 && clusterEnd < n) {
+                            edges.add(u, clusterEnd + random.nextInt(n - clusterEnd), 1 + random.nextInt(10));
+                        } else {
+                            edges.add(u, clusterStart + random.nextInt(clusterEnd - clusterStart), 1 + random.nextInt(10));
+                        }
+                    }
+                }
+                break;
+        }
+        return edges.toCSR(n, true);
+    }
+}
@@ -0,0 +1,82 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.scc.IncrementalSCC;
+import graph.scc.SccResult;
+import graph.scc.TarjanSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// A batch of arc insertions applied incrementally versus recomputing all
+// SCCs from scratch. Batches are local: each arc joins vertices at most
+// `span` ids apart, as when a dependency graph grows around recent tasks.
+// The incremental structure is rebuilt every iteration, so merges do not
+// accumulate across the whole run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncrementalSccBenchmark {
+    @Param({"200000"})
+    public int vertices;
+
+    @Param({"100"})
+    public int batch;
+
+    @Param({"64"})
+    public int span;
+
+    private CSRGraph graph;
+    private IncrementalSCC incremental;
+    private TarjanSCC tarjan;
+    private SplittableRandom random;
+    private int[] src;
+    private int[] dst;
+    private double[] w;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(GraphShapes.Shape.CLUSTERED, vertices, 2, 42);
+        tarjan = new TarjanSCC();
+        random = new SplittableRandom(7);
+        src = new int[batch];
+        dst = new int[batch];
+        w = new double[batch];
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIncremental() {
+        incremental = new IncrementalSCC(graph);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        for (int i = 0; i < batch; i++) {
+            int u = random.nextInt(vertices - span);
+            src[i] = u;
+            dst[i] = u + random.nextInt(span);
+            w[i] = 1;
+            if (random.nextInt(4) == 0) {
+                int tmp = src[i];
+                src[i] = dst[i];
+                dst[i] = tmp;
+            }
+        }
+    }
+
+    @Benchmark
+    public int incrementalBatch() {
+        incremental.addEdges(src, dst, w, batch);
+        return incremental.getComponentCount();
+    }
+
+    // What every batch cost before: a full decomposition
+    @Benchmark
+    public SccResult recompute() {
+        return tarjan.decompose(graph);
+    }
+}
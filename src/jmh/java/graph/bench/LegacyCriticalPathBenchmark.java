@@ -0,0 +1,42 @@
+package graph.bench;
+
+import graph.dagsp.DAGLongestPath;
+import graph.model.CSRGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// findCriticalPath re-runs the search from every source, O(V * (V + E)),
+// so it only gets small inputs; compare with DagPathBenchmark.criticalPathAllSources
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacyCriticalPathBenchmark {
+    @Param({"500", "2000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    private CSRGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(GraphShapes.Shape.DAG, vertices, degree, 42);
+    }
+
+    @Benchmark
+    public DAGLongestPath.CriticalPathResult criticalPathPerSource(EdgeCounter counter) {
+        counter.add(graph);
+        return new DAGLongestPath().findCriticalPath(graph);
+    }
+
+    @Benchmark
+    public DAGLongestPath.CriticalPathResult criticalPathAllSources(EdgeCounter counter) {
+        counter.add(graph);
+        return new DAGLongestPath().findCriticalPathAllSources(graph);
+    }
+}
@@ -0,0 +1,62 @@
+package graph.bench;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.scc.TarjanSCC;
+import graph.util.ScalableGraphGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Many small queries against one large graph: the workspace-backed query
+// methods touch only the part reachable from the source. findShortestPaths
+// does too, but still returns a distance for every vertex, so it pays the
+// O(n) result array; the gap is the cost of that array.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({"1000000"})
+    public int vertices;
+
+    private CSRGraph dag;
+    private DAGShortestPath shortestPath;
+    private TarjanSCC tarjan;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Layers of 1000 vertices with 2 arcs into the next layer only, so a
+        // source near the end reaches a small slice of the graph
+        dag = new ScalableGraphGenerator(42).layeredDAG(vertices / 1000, 1000, 2);
+        shortestPath = new DAGShortestPath();
+        tarjan = new TarjanSCC();
+        random = new SplittableRandom(7);
+    }
+
+    private int nearEnd() {
+        return vertices - 5000 + random.nextInt(1000);
+    }
+
+    @Benchmark
+    public double shortestDistanceQuery() {
+        int source = nearEnd();
+        return shortestPath.shortestDistance(dag, source, source + 3000 + random.nextInt(1000));
+    }
+
+    @Benchmark
+    public double shortestDistanceAllTargets() {
+        int source = nearEnd();
+        return shortestPath.findShortestPaths(dag, source)[source + 3000 + random.nextInt(1000)];
+    }
+
+    @Benchmark
+    public List<List<Integer>> sccsFromQuery() {
+        return tarjan.findSCCsFrom(dag, nearEnd());
+    }
+}
@@ -0,0 +1,71 @@
+package graph.bench;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.scc.ReachabilityIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Reachability queries answered by the index versus a shortest-path run per
+// query, plus the one-off cost of building the index. Shapes with many small
+// components get the bitset closure, the others interval labels.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReachabilityBenchmark {
+    @Param({"100000"})
+    public int vertices;
+
+    @Param({"2"})
+    public int degree;
+
+    @Param({"DAG", "CLUSTERED"})
+    public GraphShapes.Shape shape;
+
+    private CSRGraph graph;
+    private ReachabilityIndex index;
+    private DAGShortestPath shortestPath;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(shape, vertices, degree, 42);
+        index = ReachabilityIndex.build(graph);
+        shortestPath = new DAGShortestPath();
+        random = new SplittableRandom(7);
+        System.out.println();
+        index.getBuildMetrics().printMetrics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.getQueryMetrics().printMetrics();
+    }
+
+    @Benchmark
+    public boolean indexQuery() {
+        return index.reaches(random.nextInt(vertices), random.nextInt(vertices));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ReachabilityIndex build() {
+        return ReachabilityIndex.build(graph);
+    }
+
+    // The pre-index way: one full single-source run per query
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean shortestPathQuery() {
+        int source = index.getCondensation().getComponentOf(random.nextInt(vertices));
+        int target = index.getCondensation().getComponentOf(random.nextInt(vertices));
+        double[] dist = shortestPath.findShortestPaths(index.getCondensation().getDag(), source,
+                index.getCondensation().getTopologicalOrder());
+        return dist[target] != Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,96 @@
+package graph.bench;
+
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.scc.SccResult;
+import graph.scc.TarjanSCC;
+import graph.util.VertexReordering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Effect of vertex ordering on traversal throughput. Inputs start from
+// randomly scrambled ids, as they arrive from upstream systems, and are then
+// renumbered by each strategy; SCRAMBLED runs them as they are. The average
+// arc span printed at setup is the distance in ids, and so roughly in
+// memory, between the two ends of an arc. Hardware cache-miss counts come
+// from adding `-prof perfnorm` on a Linux host with perf available.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReorderingBenchmark {
+    public enum Ordering {
+        SCRAMBLED, BFS, RCM, DEGREE
+    }
+
+    @Param({"1000000"})
+    public int vertices;
+
+    @Param({"4"})
+    public int degree;
+
+    @Param({"SCRAMBLED", "BFS", "RCM", "DEGREE"})
+    public Ordering ordering;
+
+    // Clustered graph for SCC, DAG for shortest paths
+    private CSRGraph clustered;
+    private CSRGraph dag;
+    private int dagSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        VertexReordering scramble = scramble(vertices, 7);
+        clustered = reorder(scramble.apply(GraphShapes.generate(GraphShapes.Shape.CLUSTERED, vertices, degree, 42)));
+        CSRGraph scrambledDag = scramble.apply(GraphShapes.generate(GraphShapes.Shape.DAG, vertices, degree, 42));
+        VertexReordering dagOrder = ordering(scrambledDag);
+        dag = dagOrder.apply(scrambledDag);
+        // Original vertex 0 precedes every other vertex of the unscrambled DAG
+        dagSource = dagOrder.toNew(scramble.toNew(0));
+        System.out.printf("%n%s: average arc span %.0f (clustered), %.0f (dag)%n", ordering,
+                VertexReordering.averageArcSpan(clustered), VertexReordering.averageArcSpan(dag));
+    }
+
+    private CSRGraph reorder(CSRGraph graph) {
+        return ordering(graph).apply(graph);
+    }
+
+    private VertexReordering ordering(CSRGraph graph) {
+        switch (ordering) {
+            case BFS: return VertexReordering.bfs(graph);
+            case RCM: return VertexReordering.reverseCuthillMcKee(graph);
+            case DEGREE: return VertexReordering.degreeSorted(graph);
+            default: return VertexReordering.identity(graph.getN());
+        }
+    }
+
+    private static VertexReordering scramble(int n, long seed) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return VertexReordering.of(order);
+    }
+
+    @Benchmark
+    public SccResult tarjan(EdgeCounter counter) {
+        counter.add(clustered);
+        return new TarjanSCC().decompose(clustered);
+    }
+
+    @Benchmark
+    public double[] shortestPaths(EdgeCounter counter) {
+        counter.add(dag);
+        return new DAGShortestPath().findShortestPaths(dag, dagSource);
+    }
+}
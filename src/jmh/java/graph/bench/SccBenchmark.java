@@ -0,0 +1,63 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.scc.KosarajuSCC;
+import graph.scc.ParallelSCC;
+import graph.scc.TarjanSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Sequential Tarjan and Kosaraju against ParallelSCC. The threads parameter
+// only affects `parallel`; running e.g. -p threads=1,2,4,8 gives the scaling
+// curve, with the sequential methods as the baseline for the speedup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SccBenchmark {
+    @Param({"10000", "200000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    @Param({"RANDOM", "CLUSTERED", "DAG"})
+    public GraphShapes.Shape shape;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private CSRGraph graph;
+    private ParallelSCC parallelSCC;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(shape, vertices, degree, 42);
+        // Build the cached reverse adjacency outside the measurement
+        graph.getTranspose();
+        // One pool per trial, so worker startup stays out of the timed region
+        parallelSCC = new ParallelSCC(threads);
+    }
+
+    @Benchmark
+    public List<List<Integer>> tarjan(EdgeCounter counter) {
+        counter.add(graph);
+        return new TarjanSCC().findSCCs(graph);
+    }
+
+    @Benchmark
+    public List<List<Integer>> kosaraju(EdgeCounter counter) {
+        counter.add(graph);
+        return new KosarajuSCC().findSCCs(graph);
+    }
+
+    @Benchmark
+    public List<List<Integer>> parallel(EdgeCounter counter) {
+        counter.add(graph);
+        return parallelSCC.findSCCs(graph);
+    }
+}
@@ -0,0 +1,53 @@
+package graph.bench;
+
+import graph.dagsp.PreparedDAG;
+import graph.dagsp.ScheduleSimulation;
+import graph.model.CSRGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Monte Carlo sweeps over one prepared DAG with triangular task durations,
+// sequential versus all cores. One invocation is `runs` sweeps; the edges
+// column counts arcs relaxed across all of them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleSimulationBenchmark {
+    @Param({"1000", "20000"})
+    public int vertices;
+
+    @Param({"4"})
+    public int degree;
+
+    @Param({"1000"})
+    public int runs;
+
+    private CSRGraph graph;
+    private ScheduleSimulation simulation;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(GraphShapes.Shape.DAG, vertices, degree, 42);
+        simulation = new ScheduleSimulation(new PreparedDAG(graph));
+        for (int v = 0; v < vertices; v++) {
+            simulation.setTriangular(v, 1, 2 + v % 3, 4 + v % 7);
+        }
+    }
+
+    @Benchmark
+    public ScheduleSimulation.SimulationResult sequential(EdgeCounter counter) {
+        counter.edges += (long) runs * graph.getEdgeCount();
+        return simulation.run(runs, seed++, 1);
+    }
+
+    @Benchmark
+    public ScheduleSimulation.SimulationResult allCores(EdgeCounter counter) {
+        counter.edges += (long) runs * graph.getEdgeCount();
+        return simulation.run(runs, seed++);
+    }
+}
@@ -0,0 +1,49 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.topo.DFSTopologicalSort;
+import graph.topo.KahnTopologicalSort;
+import graph.topo.ParallelKahnTopologicalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopoBenchmark {
+    @Param({"10000", "200000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    private CSRGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphShapes.generate(GraphShapes.Shape.DAG, vertices, degree, 42);
+    }
+
+    @Benchmark
+    public int[] kahn(EdgeCounter counter) {
+        counter.add(graph);
+        return new KahnTopologicalSort().topologicalOrder(graph);
+    }
+
+    @Benchmark
+    public List<Integer> dfs(EdgeCounter counter) {
+        counter.add(graph);
+        return new DFSTopologicalSort().topologicalSort(graph);
+    }
+
+    @Benchmark
+    public ParallelKahnTopologicalSort.LevelOrder parallelKahn(EdgeCounter counter) {
+        counter.add(graph);
+        return new ParallelKahnTopologicalSort().sort(graph);
+    }
+}
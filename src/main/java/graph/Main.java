@@ -1,16 +1,22 @@
 package graph;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
+import graph.scc.Condensation;
 import graph.scc.TarjanSCC;
 import graph.scc.KosarajuSCC;
+import graph.scc.ReachabilityIndex;
 import graph.topo.KahnTopologicalSort;
 import graph.dagsp.DAGShortestPath;
 import graph.dagsp.DAGLongestPath;
+import graph.dagsp.PreparedDAG;
+import graph.dagsp.ScheduleSimulation;
 import graph.util.GraphLoader;
 import graph.util.GraphGenerator;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 public class Main {
@@ -79,65 +85,53 @@ public class Main {
         System.out.println("Graph structure:");
         System.out.println(graph);
 
-        // Test SCC
+        // Test SCC; condensation ids come back topologically numbered
         System.out.println("\n--- Strongly Connected Components ---");
         TarjanSCC tarjan = new TarjanSCC();
-        List<List<Integer>> sccs = tarjan.findSCCs(graph);
+        Condensation condensed = tarjan.condense(graph);
+        List<List<Integer>> sccs = condensed.getComponents();
         System.out.println("SCCs found: " + sccs.size());
         for (int i = 0; i < sccs.size(); i++) {
             System.out.println("SCC " + i + ": " + sccs.get(i));
         }
         tarjan.getMetrics().printMetrics();
 
-        // Build condensation graph
-        Graph condensation = tarjan.buildCondensationGraph(graph, sccs);
+        // Condensation graph built in the same pass
+        CSRGraph condensation = condensed.getDag();
+        int[] topoOrder = condensed.getTopologicalOrder();
         System.out.println("Condensation graph: " + condensation.getN() + " components");
         System.out.println("Condensation structure:");
         System.out.println(condensation);
 
-        // Test Topological Sort on condensation graph
-        System.out.println("\n--- Topological Sort on Condensation ---");
-        KahnTopologicalSort kahn = new KahnTopologicalSort();
-        try {
-            List<Integer> topoOrder = kahn.topologicalSort(condensation);
-            System.out.println("Topological order of components: " + topoOrder);
-            kahn.getMetrics().printMetrics();
-
-            // Map back to original vertices
-            System.out.println("Derived order of original tasks:");
-            for (int compId : topoOrder) {
-                System.out.println("  Component " + compId + ": " + sccs.get(compId));
-            }
-        } catch (IllegalArgumentException e) {
-            System.out.println("Cannot perform topological sort: " + e.getMessage());
+        // Component ids are already in topological order, no Kahn pass needed
+        System.out.println("\n--- Topological Order of Condensation ---");
+        System.out.println("Topological order of components: " + Arrays.toString(topoOrder));
+        System.out.println("Derived order of original tasks:");
+        for (int compId : topoOrder) {
+            System.out.println("  Component " + compId + ": " + sccs.get(compId));
         }
 
         // Test Shortest Paths on CONDENSATION GRAPH
         System.out.println("\n--- Shortest Paths in Condensation DAG ---");
         DAGShortestPath shortestPath = new DAGShortestPath();
-        int sourceComponent = findComponentContainingVertex(sccs, 0);
-        if (sourceComponent != -1) {
-            double[] distances = shortestPath.findShortestPaths(condensation, sourceComponent);
-            System.out.println("Shortest distances from component " + sourceComponent + " (contains vertex 0):");
-            for (int i = 0; i < distances.length; i++) {
-                System.out.println("  to component " + i + " (" + sccs.get(i) + "): " +
-                        (distances[i] == Double.POSITIVE_INFINITY ? "∞" : String.format("%.1f", distances[i])));
-            }
-            shortestPath.getMetrics().printMetrics();
-        } else {
-            System.out.println("Source vertex 0 not found in any component");
+        int sourceComponent = condensed.getComponentOf(0);
+        double[] distances = shortestPath.findShortestPaths(condensation, sourceComponent, topoOrder);
+        System.out.println("Shortest distances from component " + sourceComponent + " (contains vertex 0):");
+        for (int i = 0; i < distances.length; i++) {
+            System.out.println("  to component " + i + " (" + sccs.get(i) + "): " +
+                    (distances[i] == Double.POSITIVE_INFINITY ? "∞" : String.format("%.1f", distances[i])));
         }
+        shortestPath.getMetrics().printMetrics();
 
         // Test Longest Paths on CONDENSATION GRAPH
         System.out.println("\n--- Longest Paths (Critical Path) in Condensation DAG ---");
         DAGLongestPath longestPath = new DAGLongestPath();
-        DAGLongestPath.CriticalPathResult criticalPath = longestPath.findCriticalPath(condensation);
+        DAGLongestPath.CriticalPathResult criticalPath = longestPath.findCriticalPathAllSources(condensation, topoOrder);
         System.out.println("Critical path length: " + criticalPath.getLength());
         System.out.println("Start component: " + criticalPath.getStartVertex() + " (" + sccs.get(criticalPath.getStartVertex()) + ")");
         System.out.println("End component: " + criticalPath.getEndVertex() + " (" + sccs.get(criticalPath.getEndVertex()) + ")");
 
-        List<Integer> criticalPathComponents = longestPath.reconstructPath(condensation,
-                criticalPath.getStartVertex(), criticalPath.getEndVertex());
+        List<Integer> criticalPathComponents = criticalPath.getPath();
         System.out.println("Critical path through components: " + criticalPathComponents);
 
         // Map critical path back to original vertices
@@ -146,6 +140,19 @@ public class Main {
             System.out.println("  Component " + compId + ": " + sccs.get(compId));
         }
         longestPath.getMetrics().printMetrics();
+
+        // Schedule risk: each component takes between half and twice its size, most likely its size
+        System.out.println("\n--- Schedule Risk (Monte Carlo) in Condensation DAG ---");
+        ScheduleSimulation simulation = new ScheduleSimulation(new PreparedDAG(condensation, topoOrder));
+        for (int c = 0; c < sccs.size(); c++) {
+            int size = sccs.get(c).size();
+            simulation.setTriangular(c, 0.5 * size, size, 2.0 * size);
+        }
+        ScheduleSimulation.SimulationResult risk = simulation.run(100_000, 42);
+        System.out.printf("Completion time: mean %.2f, P50 %.2f, P80 %.2f, P95 %.2f%n",
+                risk.getMean(), risk.getPercentile(50), risk.getPercentile(80), risk.getPercentile(95));
+        System.out.println("Criticality index per component: " + Arrays.toString(risk.getCriticalityIndices()));
+        risk.getMetrics().printMetrics();
     }
 
     private static void testPerformance() throws IOException {
@@ -196,14 +203,22 @@ public class Main {
             }
         }
         System.out.printf("Reachable components from source: %d/%d%n", reachable, condensation.getN());
-    }
 
-    private static int findComponentContainingVertex(List<List<Integer>> sccs, int vertex) {
-        for (int i = 0; i < sccs.size(); i++) {
-            if (sccs.get(i).contains(vertex)) {
-                return i;
+        // Reachability index: one build, then constant-ish pair queries
+        ReachabilityIndex index = ReachabilityIndex.build(graph);
+        System.out.printf("Reachability index: %s, build %.3f ms, %d bytes%n",
+                index.usesClosure() ? "bitset closure" : index.getLabelCount() + " interval labels",
+                index.getBuildTime() / 1_000_000.0, index.getMemoryBytes());
+        int queries = 100_000;
+        int positive = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            if (index.reaches(i % graph.getN(), (i * 31 + 7) % graph.getN())) {
+                positive++;
             }
         }
-        return -1;
+        long queryTime = System.nanoTime() - startTime;
+        System.out.printf("Reachability queries: %d positive of %d, %.1f ns/query%n",
+                positive, queries, (double) queryTime / queries);
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,34 @@
 package graph.dagsp;
 
 import graph.model.Graph;
-import graph.model.Edge;
+import graph.model.GraphView;
 import graph.topo.TopologicalSort;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
 
 import java.util.*;
 
 public class DAGLongestPath {
-    private Metrics metrics;
+    private final TopologicalSort topoSort;
+    private final RunMetrics runMetrics;
+    private final int edgesRelaxedSlot;
+    private final int distanceUpdatesSlot;
+    private final int verticesProcessedSlot;
 
     public DAGLongestPath() {
-        this.metrics = new Metrics("DAGLongestPath");
+        this.topoSort = new TopologicalSort();
+        this.runMetrics = new RunMetrics("DAGLongestPath");
+        this.edgesRelaxedSlot = runMetrics.registerCounter("edges_relaxed");
+        this.distanceUpdatesSlot = runMetrics.registerCounter("distance_updates");
+        this.verticesProcessedSlot = runMetrics.registerCounter("vertices_processed");
     }
 
     public CriticalPathResult findCriticalPath(Graph graph) {
-        metrics.startTimer();
+        return findCriticalPath(graph.toCSR());
+    }
+
+    public CriticalPathResult findCriticalPath(GraphView graph) {
+        Metrics metrics = runMetrics.start();
 
         int n = graph.getN();
         double maxLength = Double.NEGATIVE_INFINITY;
@@ -23,10 +36,9 @@ public class DAGLongestPath {
         int endVertex = -1;
 
         // Get topological order
-        TopologicalSort topoSort = new TopologicalSort();
-        List<Integer> topoOrder;
+        int[] topoOrder;
         try {
-            topoOrder = topoSort.topologicalSort(graph);
+            topoOrder = topoSort.topologicalOrder(graph);
         } catch (IllegalArgumentException e) {
             // Graph has cycles, cannot find critical path
             metrics.stopTimer();
@@ -44,17 +56,18 @@ public class DAGLongestPath {
             // Process vertices in topological order
             for (int node : topoOrder) {
                 if (dist[node] != Double.NEGATIVE_INFINITY) {
-                    for (Edge edge : graph.getNeighbors(node)) {
-                        metrics.incrementCounter("edges_relaxed");
-                        double newDist = dist[node] + edge.getWeight();
-                        if (newDist > dist[edge.getV()]) {
-                            dist[edge.getV()] = newDist;
-                            prev[edge.getV()] = node;
-                            metrics.incrementCounter("distance_updates");
+                    for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                        metrics.increment(edgesRelaxedSlot);
+                        int to = graph.target(e);
+                        double newDist = dist[node] + graph.weight(e);
+                        if (newDist > dist[to]) {
+                            dist[to] = newDist;
+                            prev[to] = node;
+                            metrics.increment(distanceUpdatesSlot);
                         }
                     }
                 }
-                metrics.incrementCounter("vertices_processed");
+                metrics.increment(verticesProcessedSlot);
             }
 
             // Find maximum distance from this source
@@ -71,15 +84,90 @@ public class DAGLongestPath {
         return new CriticalPathResult(maxLength, startVertex, endVertex);
     }
 
+    public CriticalPathResult findCriticalPathAllSources(Graph graph) {
+        return findCriticalPathAllSources(graph.toCSR());
+    }
+
+    // One topological sweep: best[v] is the longest path ending at v from any
+    // start vertex, origin[v] that start and prev[v] the previous hop.
+    public CriticalPathResult findCriticalPathAllSources(GraphView graph) {
+        // Started before the sort, so a cyclic graph still records its own run
+        Metrics metrics = runMetrics.start();
+        int[] topoOrder;
+        try {
+            topoOrder = topoSort.topologicalOrder(graph);
+        } catch (IllegalArgumentException e) {
+            // Graph has cycles, cannot find critical path
+            metrics.stopTimer();
+            return new CriticalPathResult(Double.NEGATIVE_INFINITY, -1, -1);
+        }
+        return sweepAllSources(metrics, graph, topoOrder);
+    }
+
+    public CriticalPathResult findCriticalPathAllSources(GraphView graph, int[] topoOrder) {
+        return sweepAllSources(runMetrics.start(), graph, topoOrder);
+    }
+
+    private CriticalPathResult sweepAllSources(Metrics metrics, GraphView graph, int[] topoOrder) {
+        int n = graph.getN();
+
+        double[] best = new double[n];
+        int[] origin = new int[n];
+        int[] prev = new int[n];
+        for (int i = 0; i < n; i++) {
+            origin[i] = i;
+            prev[i] = -1;
+        }
+
+        for (int node : topoOrder) {
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                metrics.increment(edgesRelaxedSlot);
+                int to = graph.target(e);
+                double newDist = best[node] + graph.weight(e);
+                if (newDist > best[to]) {
+                    best[to] = newDist;
+                    origin[to] = origin[node];
+                    prev[to] = node;
+                    metrics.increment(distanceUpdatesSlot);
+                }
+            }
+            metrics.increment(verticesProcessedSlot);
+        }
+
+        double maxLength = Double.NEGATIVE_INFINITY;
+        int endVertex = -1;
+        for (int i = 0; i < n; i++) {
+            if (best[i] > maxLength) {
+                maxLength = best[i];
+                endVertex = i;
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int at = endVertex; at != -1; at = prev[at]) {
+            path.add(at);
+        }
+        Collections.reverse(path);
+
+        metrics.stopTimer();
+        if (endVertex == -1) {
+            return new CriticalPathResult(maxLength, -1, -1);
+        }
+        return new CriticalPathResult(maxLength, origin[endVertex], endVertex, path);
+    }
+
     public List<Integer> reconstructPath(Graph graph, int startVertex, int endVertex) {
+        return reconstructPath(graph.toCSR(), startVertex, endVertex);
+    }
+
+    public List<Integer> reconstructPath(GraphView graph, int startVertex, int endVertex) {
         if (startVertex == -1 || endVertex == -1) {
             return Collections.emptyList();
         }
 
-        TopologicalSort topoSort = new TopologicalSort();
-        List<Integer> topoOrder;
+        int[] topoOrder;
         try {
-            topoOrder = topoSort.topologicalSort(graph);
+            topoOrder = topoSort.topologicalOrder(graph);
         } catch (IllegalArgumentException e) {
             return Collections.emptyList();
         }
@@ -93,11 +181,12 @@ public class DAGLongestPath {
         // Compute longest paths
         for (int node : topoOrder) {
             if (dist[node] != Double.NEGATIVE_INFINITY) {
-                for (Edge edge : graph.getNeighbors(node)) {
-                    double newDist = dist[node] + edge.getWeight();
-                    if (newDist > dist[edge.getV()]) {
-                        dist[edge.getV()] = newDist;
-                        prev[edge.getV()] = node;
+                for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                    int to = graph.target(e);
+                    double newDist = dist[node] + graph.weight(e);
+                    if (newDist > dist[to]) {
+                        dist[to] = newDist;
+                        prev[to] = node;
                     }
                 }
             }
@@ -122,19 +211,28 @@ public class DAGLongestPath {
         private final double length;
         private final int startVertex;
         private final int endVertex;
+        private final List<Integer> path;
 
         public CriticalPathResult(double length, int startVertex, int endVertex) {
+            this(length, startVertex, endVertex, Collections.emptyList());
+        }
+
+        public CriticalPathResult(double length, int startVertex, int endVertex, List<Integer> path) {
             this.length = length;
             this.startVertex = startVertex;
             this.endVertex = endVertex;
+            this.path = Collections.unmodifiableList(path);
         }
 
         public double getLength() { return length; }
         public int getStartVertex() { return startVertex; }
         public int getEndVertex() { return endVertex; }
+        // Empty unless the result came from findCriticalPathAllSources
+        public List<Integer> getPath() { return path; }
     }
 
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
     }
 }
\ No newline at end of file
@@ -1,48 +1,208 @@
 package graph.dagsp;
 
 import graph.model.Graph;
+import graph.model.GraphView;
 import graph.model.Edge;
 import graph.topo.TopologicalSort;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+import graph.util.Workspace;
 
 import java.util.*;
 
 public class DAGShortestPath {
-    private Metrics metrics;
+    // Scratch arrays for single-pair queries, reused per thread; see Workspace
+    private static final ThreadLocal<Workspace> WORKSPACE = Workspace.perThread(4, 1);
+    private static final int CALL_STACK = 0;
+    private static final int EDGE_CURSOR = 1;
+    private static final int POSTORDER = 2;
+    private static final int PRED = 3;
+    private static final int DIST = 0;
+
+    private final TopologicalSort topoSort;
+    private final RunMetrics runMetrics;
+    private final int verticesProcessedSlot;
+    private final int edgesRelaxedSlot;
+    private final int distanceUpdatesSlot;
 
     public DAGShortestPath() {
-        this.metrics = new Metrics("DAGShortestPath");
+        this.topoSort = new TopologicalSort();
+        this.runMetrics = new RunMetrics("DAGShortestPath");
+        this.verticesProcessedSlot = runMetrics.registerCounter("vertices_processed");
+        this.edgesRelaxedSlot = runMetrics.registerCounter("edges_relaxed");
+        this.distanceUpdatesSlot = runMetrics.registerCounter("distance_updates");
     }
 
     public double[] findShortestPaths(Graph graph, int source) {
-        metrics.startTimer();
+        return findShortestPaths(graph.toCSR(), source);
+    }
+
+    // Works in the per-thread workspace like the single-pair queries below:
+    // only the part of the DAG reachable from source is sorted and relaxed,
+    // and the returned array is the only allocation. A cycle reachable from
+    // source is rejected; one elsewhere cannot change any distance and is not
+    // looked for. Pass a topological order to check the whole graph instead.
+    public double[] findShortestPaths(GraphView graph, int source) {
+        Workspace workspace = settle(graph, source, -1);
+        double[] settled = workspace.doubles(DIST);
+        double[] dist = new double[graph.getN()];
+        for (int v = 0; v < dist.length; v++) {
+            dist[v] = workspace.isMarked(v) ? settled[v] : Double.POSITIVE_INFINITY;
+        }
+        return dist;
+    }
+
+    // Skips the topological sort when the caller already has an order,
+    // e.g. the identity order of a Condensation DAG
+    public double[] findShortestPaths(GraphView graph, int source, int[] topoOrder) {
+        return run(graph, source, false, topoOrder).distances;
+    }
+
+    public ShortestPathResult findShortestPathTree(Graph graph, int source) {
+        return findShortestPathTree(graph.toCSR(), source);
+    }
+
+    // Same relaxation as findShortestPaths, also recording each vertex's
+    // predecessor so paths can be read back without rescanning the graph
+    public ShortestPathResult findShortestPathTree(GraphView graph, int source) {
+        return run(graph, source, true, null);
+    }
+
+    public ShortestPathResult findShortestPathTree(GraphView graph, int source, int[] topoOrder) {
+        return run(graph, source, true, topoOrder);
+    }
+
+    // Single-pair queries that touch only the part of the DAG reachable from
+    // source and allocate nothing beyond the returned path, for answering many
+    // small queries on one large graph.
+    public double shortestDistance(GraphView graph, int source, int target) {
+        Workspace workspace = settle(graph, source, target);
+        return workspace.isMarked(target) ? workspace.doubles(DIST)[target] : Double.POSITIVE_INFINITY;
+    }
+
+    public List<Integer> shortestPath(GraphView graph, int source, int target) {
+        Workspace workspace = settle(graph, source, target);
+        if (!workspace.isMarked(target)) {
+            return Collections.emptyList();
+        }
+        int[] pred = workspace.ints(PRED);
+        int length = 0;
+        for (int at = target; at != -1; at = pred[at]) {
+            length++;
+        }
+        Integer[] path = new Integer[length];
+        for (int at = target; at != -1; at = pred[at]) {
+            path[--length] = at;
+        }
+        return Arrays.asList(path);
+    }
+
+    // A DFS from source collects the reachable vertices in postorder, whose
+    // reverse is a topological order of that sub-DAG. Relaxing in that order
+    // can stop at target: all of its predecessors come earlier. Target -1
+    // relaxes everything reachable. A finished
+    // vertex gets edge cursor -1, so an arc to a marked vertex whose cursor is
+    // still set points back into the DFS path and closes a cycle.
+    private Workspace settle(GraphView graph, int source, int target) {
+        Metrics metrics = runMetrics.start();
+        Workspace workspace = WORKSPACE.get().begin(graph.getN());
+        int[] callStack = workspace.ints(CALL_STACK);
+        int[] edgeCursor = workspace.ints(EDGE_CURSOR);
+        int[] postorder = workspace.ints(POSTORDER);
+        int[] pred = workspace.ints(PRED);
+        double[] dist = workspace.doubles(DIST);
+
+        int count = 0;
+        int top = 0;
+        callStack[0] = source;
+        workspace.mark(source);
+        edgeCursor[source] = graph.edgeStart(source);
+        dist[source] = Double.POSITIVE_INFINITY;
+        while (top >= 0) {
+            int node = callStack[top];
+            if (edgeCursor[node] < graph.edgeEnd(node)) {
+                int to = graph.target(edgeCursor[node]++);
+                if (!workspace.isMarked(to)) {
+                    workspace.mark(to);
+                    edgeCursor[to] = graph.edgeStart(to);
+                    dist[to] = Double.POSITIVE_INFINITY;
+                    callStack[++top] = to;
+                } else if (edgeCursor[to] != -1) {
+                    metrics.stopTimer();
+                    throw new IllegalArgumentException("Graph has cycles, cannot perform topological sort");
+                }
+            } else {
+                postorder[count++] = node;
+                edgeCursor[node] = -1;
+                top--;
+            }
+        }
+
+        if (target == -1 || workspace.isMarked(target)) {
+            dist[source] = 0;
+            pred[source] = -1;
+            for (int i = count - 1; i >= 0; i--) {
+                int node = postorder[i];
+                metrics.increment(verticesProcessedSlot);
+                if (node == target) {
+                    break;
+                }
+                for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                    metrics.increment(edgesRelaxedSlot);
+                    int to = graph.target(e);
+                    double newDist = dist[node] + graph.weight(e);
+                    if (newDist < dist[to]) {
+                        dist[to] = newDist;
+                        pred[to] = node;
+                        metrics.increment(distanceUpdatesSlot);
+                    }
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        return workspace;
+    }
+
+    private ShortestPathResult run(GraphView graph, int source, boolean trackPredecessors, int[] topoOrder) {
+        Metrics metrics = runMetrics.start();
 
         int n = graph.getN();
         double[] dist = new double[n];
         Arrays.fill(dist, Double.POSITIVE_INFINITY);
         dist[source] = 0;
+        int[] pred = null;
+        if (trackPredecessors) {
+            pred = new int[n];
+            Arrays.fill(pred, -1);
+        }
 
         // Get topological order
-        TopologicalSort topoSort = new TopologicalSort();
-        List<Integer> topoOrder = topoSort.topologicalSort(graph);
+        if (topoOrder == null) {
+            topoOrder = topoSort.topologicalOrder(graph);
+        }
 
         // Process vertices in topological order
         for (int node : topoOrder) {
-            metrics.incrementCounter("vertices_processed");
+            metrics.increment(verticesProcessedSlot);
             if (dist[node] != Double.POSITIVE_INFINITY) {
-                for (Edge edge : graph.getNeighbors(node)) {
-                    metrics.incrementCounter("edges_relaxed");
-                    double newDist = dist[node] + edge.getWeight();
-                    if (newDist < dist[edge.getV()]) {
-                        dist[edge.getV()] = newDist;
-                        metrics.incrementCounter("distance_updates");
+                for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                    metrics.increment(edgesRelaxedSlot);
+                    int to = graph.target(e);
+                    double newDist = dist[node] + graph.weight(e);
+                    if (newDist < dist[to]) {
+                        dist[to] = newDist;
+                        if (pred != null) {
+                            pred[to] = node;
+                        }
+                        metrics.increment(distanceUpdatesSlot);
                     }
                 }
             }
         }
 
         metrics.stopTimer();
-        return dist;
+        return new ShortestPathResult(source, dist, pred, topoOrder);
     }
 
     public List<Integer> reconstructPath(Graph graph, int source, int target, double[] dist) {
@@ -75,7 +235,202 @@ public class DAGShortestPath {
         return path;
     }
 
+    public static class ShortestPathResult {
+        private final int source;
+        private final double[] distances;
+        private final int[] predecessors;
+        private final int[] topoOrder;
+
+        public ShortestPathResult(int source, double[] distances, int[] predecessors, int[] topoOrder) {
+            this.source = source;
+            this.distances = distances;
+            this.predecessors = predecessors;
+            this.topoOrder = topoOrder;
+        }
+
+        public int getSource() { return source; }
+        // Copies, so callers cannot change the paths this result returns
+        public double[] getDistances() { return distances.clone(); }
+        public int[] getPredecessors() { return predecessors == null ? null : predecessors.clone(); }
+        public int[] getTopologicalOrder() { return topoOrder; }
+        public double getDistance(int target) { return distances[target]; }
+
+        public boolean hasPathTo(int target) {
+            return distances[target] != Double.POSITIVE_INFINITY;
+        }
+
+        // Walks the predecessor chain once to size the path and once to fill it
+        public List<Integer> getPath(int target) {
+            requirePredecessors();
+            if (!hasPathTo(target)) {
+                return Collections.emptyList();
+            }
+
+            int length = 0;
+            for (int at = target; at != -1; at = predecessors[at]) {
+                length++;
+            }
+            Integer[] path = new Integer[length];
+            for (int at = target; at != -1; at = predecessors[at]) {
+                path[--length] = at;
+            }
+            return Arrays.asList(path);
+        }
+
+        // Paths to every vertex, indexed by target (empty when unreachable),
+        // all built in one pass over the predecessor tree. Paths share their
+        // common prefixes, so the whole set takes O(V) memory even where the
+        // paths add up to O(V^2) vertices, e.g. on a long chain; see PathTree.
+        public List<List<Integer>> getAllPaths() {
+            requirePredecessors();
+            return new PathTree(source, predecessors);
+        }
+
+        private void requirePredecessors() {
+            if (predecessors == null) {
+                throw new IllegalStateException("Predecessors were not recorded for this result");
+            }
+        }
+    }
+
+    // Every root path of a shortest path tree. The tree is cut into heavy
+    // paths, each running from a head down through its largest subtrees and
+    // stored once in `layout`. The path to a vertex is then the prefixes of the
+    // heavy paths met on the way up from it, at most log2(V) of them since each
+    // step up to a new heavy path at least doubles the subtree size. Building
+    // is O(V); reading one entry of a path is O(log V), boxed on read.
+    private static final class PathTree extends AbstractList<List<Integer>> implements RandomAccess {
+        // Edges from the root to each vertex, -1 when unreachable
+        private final int[] depth;
+        private final int[] chainOf;
+        // Heavy path c is layout[chainStart[c] ..], from its head downwards;
+        // chainUp[c] is the parent of its head, -1 for the root's
+        private final int[] chainStart;
+        private final int[] chainUp;
+        private final int[] layout;
+
+        PathTree(int source, int[] pred) {
+            int n = pred.length;
+            int[] childStart = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                if (pred[v] != -1) {
+                    childStart[pred[v] + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                childStart[v + 1] += childStart[v];
+            }
+            int[] children = new int[childStart[n]];
+            int[] cursor = Arrays.copyOf(childStart, n);
+            for (int v = 0; v < n; v++) {
+                if (pred[v] != -1) {
+                    children[cursor[pred[v]]++] = v;
+                }
+            }
+
+            // BFS lists parents before children
+            this.depth = new int[n];
+            Arrays.fill(depth, -1);
+            int[] order = new int[childStart[n] + 1];
+            int count = 0;
+            order[count++] = source;
+            depth[source] = 0;
+            for (int i = 0; i < count; i++) {
+                int v = order[i];
+                for (int c = childStart[v]; c < childStart[v + 1]; c++) {
+                    depth[children[c]] = depth[v] + 1;
+                    order[count++] = children[c];
+                }
+            }
+            int[] size = new int[n];
+            for (int i = count - 1; i >= 0; i--) {
+                int v = order[i];
+                size[v]++;
+                if (v != source) {
+                    size[pred[v]] += size[v];
+                }
+            }
+
+            // Each head starts a heavy path; the lighter children met along it
+            // become heads in turn
+            this.chainOf = new int[n];
+            this.chainStart = new int[count];
+            this.chainUp = new int[count];
+            this.layout = new int[count];
+            int[] heads = order;
+            int top = 0;
+            heads[top++] = source;
+            int chains = 0;
+            int next = 0;
+            while (top > 0) {
+                int head = heads[--top];
+                chainStart[chains] = next;
+                chainUp[chains] = head == source ? -1 : pred[head];
+                for (int v = head; v != -1; ) {
+                    chainOf[v] = chains;
+                    layout[next++] = v;
+                    int heavy = -1;
+                    for (int c = childStart[v]; c < childStart[v + 1]; c++) {
+                        if (heavy == -1 || size[children[c]] > size[heavy]) {
+                            heavy = children[c];
+                        }
+                    }
+                    for (int c = childStart[v]; c < childStart[v + 1]; c++) {
+                        if (children[c] != heavy) {
+                            heads[top++] = children[c];
+                        }
+                    }
+                    v = heavy;
+                }
+                chains++;
+            }
+        }
+
+        @Override
+        public List<Integer> get(int target) {
+            return depth[target] == -1 ? Collections.emptyList() : new Path(target);
+        }
+
+        @Override
+        public int size() {
+            return depth.length;
+        }
+
+        private final class Path extends AbstractList<Integer> implements RandomAccess {
+            private final int target;
+
+            Path(int target) {
+                this.target = target;
+            }
+
+            @Override
+            public Integer get(int index) {
+                Objects.checkIndex(index, size());
+                int v = target;
+                while (true) {
+                    int chain = chainOf[v];
+                    int headDepth = depth[layout[chainStart[chain]]];
+                    if (index >= headDepth) {
+                        return layout[chainStart[chain] + index - headDepth];
+                    }
+                    v = chainUp[chain];
+                }
+            }
+
+            @Override
+            public int size() {
+                return depth[target] + 1;
+            }
+        }
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
+    }
+
+    // Drops the calling thread's scratch arrays
+    public static void releaseWorkspace() {
+        WORKSPACE.remove();
     }
-}
\ No newline at end of file
+}
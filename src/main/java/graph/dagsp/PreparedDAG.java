@@ -0,0 +1,118 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.scc.Condensation;
+import graph.topo.DynamicTopologicalOrder;
+import graph.topo.TopologicalSort;
+import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+
+import java.util.*;
+
+// A DAG with its topological order and position index computed once, for
+// answering many path queries. A query from source only scans vertices at or
+// after the source's topological position, since nothing earlier is reachable.
+public class PreparedDAG {
+    private final GraphView graph;
+    private final int[] topoOrder;
+    private final int[] position;
+    private final RunMetrics runMetrics;
+    private final int verticesProcessedSlot;
+    private final int edgesRelaxedSlot;
+    private final int distanceUpdatesSlot;
+
+    public PreparedDAG(Graph graph) {
+        this(graph.toCSR());
+    }
+
+    public PreparedDAG(GraphView graph) {
+        this(graph, new TopologicalSort().topologicalOrder(graph));
+    }
+
+    public PreparedDAG(GraphView graph, int[] topoOrder) {
+        if (topoOrder.length != graph.getN()) {
+            throw new IllegalArgumentException("Topological order must list all " + graph.getN() + " vertices");
+        }
+        this.graph = graph;
+        this.topoOrder = topoOrder;
+        this.position = new int[topoOrder.length];
+        for (int i = 0; i < topoOrder.length; i++) {
+            position[topoOrder[i]] = i;
+        }
+        this.runMetrics = new RunMetrics("PreparedDAG");
+        this.verticesProcessedSlot = runMetrics.registerCounter("vertices_processed");
+        this.edgesRelaxedSlot = runMetrics.registerCounter("edges_relaxed");
+        this.distanceUpdatesSlot = runMetrics.registerCounter("distance_updates");
+    }
+
+    public static PreparedDAG of(Condensation condensation) {
+        return new PreparedDAG(condensation.getDag(), condensation.getTopologicalOrder());
+    }
+
+    // Snapshot of a DAG that is still growing; later insertions are not seen
+    public static PreparedDAG of(DynamicTopologicalOrder dag) {
+        return new PreparedDAG(dag.toCSR(), dag.getOrder());
+    }
+
+    public double[] shortestPaths(int source) {
+        return relax(source, false, null);
+    }
+
+    public DAGShortestPath.ShortestPathResult shortestPathTree(int source) {
+        int[] pred = new int[graph.getN()];
+        Arrays.fill(pred, -1);
+        double[] dist = relax(source, false, pred);
+        return new DAGShortestPath.ShortestPathResult(source, dist, pred, topoOrder);
+    }
+
+    // Longest distances from source; unreachable vertices stay at negative infinity
+    public double[] longestPaths(int source) {
+        return relax(source, true, null);
+    }
+
+    public DAGLongestPath.CriticalPathResult criticalPath() {
+        return new DAGLongestPath().findCriticalPathAllSources(graph, topoOrder);
+    }
+
+    private double[] relax(int source, boolean longest, int[] pred) {
+        Metrics metrics = runMetrics.start();
+
+        int n = graph.getN();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] dist = new double[n];
+        Arrays.fill(dist, unreached);
+        dist[source] = 0;
+
+        for (int i = position[source]; i < n; i++) {
+            int node = topoOrder[i];
+            metrics.increment(verticesProcessedSlot);
+            if (dist[node] == unreached) continue;
+
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                metrics.increment(edgesRelaxedSlot);
+                int to = graph.target(e);
+                double newDist = dist[node] + graph.weight(e);
+                if (longest ? newDist > dist[to] : newDist < dist[to]) {
+                    dist[to] = newDist;
+                    if (pred != null) {
+                        pred[to] = node;
+                    }
+                    metrics.increment(distanceUpdatesSlot);
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        return dist;
+    }
+
+    public GraphView getGraph() { return graph; }
+    public int[] getTopologicalOrder() { return topoOrder; }
+    public int getPosition(int vertex) { return position[vertex]; }
+
+    // Metrics of the calling thread's most recent run on this instance
+    public Metrics getMetrics() {
+        return runMetrics.getLast();
+    }
+}
@@ -0,0 +1,353 @@
+package graph.dagsp;
+
+import graph.model.GraphView;
+import graph.model.Vertex;
+import graph.metrics.Metrics;
+import graph.util.ScalableGraphGenerator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Monte Carlo schedule risk over a prepared DAG. Each vertex is a task with a
+// random duration; each arc (u, v) a precedence with a fixed lag, its weight.
+// A run draws every duration and makes one longest-path sweep: a task starts
+// once all predecessors have finished plus their lags, and the project ends
+// when the last task finishes. With zero durations a run gives exactly the
+// DAGLongestPath critical path length.
+//
+// The graph is renumbered once into topological positions and stored as
+// predecessor lists, so a sweep reads every array front to back and needs no
+// reset between runs. Runs are cut into fixed-size partitions, each drawing
+// from its own SplittableRandom seeded from (seed, partition), so results
+// depend only on the seed and never on parallelism or scheduling. Every
+// worker reuses one set of buffers for all of its runs.
+public class ScheduleSimulation {
+    private static final int RUNS_PER_PARTITION = 1 << 12;
+
+    private static final byte FIXED = 0;
+    private static final byte UNIFORM = 1;
+    private static final byte TRIANGULAR = 2;
+
+    private final int n;
+    private final int[] topoOrder;
+    private final int[] position;
+    // Predecessors of position i are predPos[predStart[i] .. predStart[i + 1]),
+    // as positions, with their lags alongside
+    private final int[] predStart;
+    private final int[] predPos;
+    private final double[] predLag;
+
+    // Duration distribution of each vertex, by vertex id
+    private final byte[] kind;
+    private final double[] min;
+    private final double[] mode;
+    private final double[] max;
+
+    public ScheduleSimulation(PreparedDAG dag) {
+        GraphView graph = dag.getGraph();
+        this.n = graph.getN();
+        this.topoOrder = dag.getTopologicalOrder().clone();
+        this.position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[topoOrder[i]] = i;
+        }
+
+        this.predStart = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                predStart[position[graph.target(e)] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            predStart[i + 1] += predStart[i];
+        }
+        this.predPos = new int[predStart[n]];
+        this.predLag = new double[predStart[n]];
+        int[] cursor = Arrays.copyOf(predStart, n);
+        // Scanning sources in topological order keeps each list sorted by position
+        for (int i = 0; i < n; i++) {
+            int u = topoOrder[i];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int to = position[graph.target(e)];
+                if (to <= i) {
+                    throw new IllegalArgumentException("Order is not topological: arc " + u + " -> " + graph.target(e));
+                }
+                int slot = cursor[to]++;
+                predPos[slot] = i;
+                predLag[slot] = graph.weight(e);
+            }
+        }
+
+        this.kind = new byte[n];
+        this.min = new double[n];
+        this.mode = new double[n];
+        this.max = new double[n];
+    }
+
+    // Every task starts with a fixed duration of 0
+    public ScheduleSimulation(GraphView graph) {
+        this(new PreparedDAG(graph));
+    }
+
+    // Fixed durations taken from the vertices, matched by id
+    public ScheduleSimulation setDurations(Collection<Vertex> vertices) {
+        for (Vertex vertex : vertices) {
+            setFixed(vertex.getId(), vertex.getDuration());
+        }
+        return this;
+    }
+
+    public ScheduleSimulation setFixed(int v, double duration) {
+        return set(v, FIXED, duration, duration, duration);
+    }
+
+    public ScheduleSimulation setUniform(int v, double low, double high) {
+        return set(v, UNIFORM, low, (low + high) / 2, high);
+    }
+
+    // Three-point estimate: optimistic, most likely and pessimistic duration
+    public ScheduleSimulation setTriangular(int v, double low, double likely, double high) {
+        return set(v, TRIANGULAR, low, likely, high);
+    }
+
+    private ScheduleSimulation set(int v, byte distribution, double low, double likely, double high) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " is not in graph [0," + (n - 1) + "]");
+        }
+        if (!(low >= 0 && low <= likely && likely <= high) || Double.isInfinite(high)) {
+            throw new IllegalArgumentException("Durations of vertex " + v + " must satisfy 0 <= min <= mode <= max < inf: "
+                    + low + ", " + likely + ", " + high);
+        }
+        // A zero-width range is drawn as a constant
+        kind[v] = low == high ? FIXED : distribution;
+        min[v] = low;
+        mode[v] = likely;
+        max[v] = high;
+        return this;
+    }
+
+    public SimulationResult run(int runs, long seed) {
+        return run(runs, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationResult run(int runs, long seed, int parallelism) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Run count must be positive: " + runs);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        Metrics metrics = new Metrics("ScheduleSimulation");
+        metrics.startTimer();
+
+        // Distributions by position, so sampling follows the sweep
+        byte[] kindAt = new byte[n];
+        double[] minAt = new double[n];
+        double[] modeAt = new double[n];
+        double[] maxAt = new double[n];
+        for (int i = 0; i < n; i++) {
+            int v = topoOrder[i];
+            kindAt[i] = kind[v];
+            minAt[i] = min[v];
+            modeAt[i] = mode[v];
+            maxAt[i] = max[v];
+        }
+
+        int partitions = (int) (((long) runs + RUNS_PER_PARTITION - 1) / RUNS_PER_PARTITION);
+        int workers = Math.min(parallelism, partitions);
+        double[] completion = new double[runs];
+        long[][] criticalByWorker = new long[workers][];
+
+        Sweeper sweeper = new Sweeper(kindAt, minAt, modeAt, maxAt);
+        if (workers == 1) {
+            criticalByWorker[0] = sweeper.runPartitions(0, 1, partitions, runs, seed, completion);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                pool.submit(() -> IntStream.range(0, workers).parallel().forEach(w ->
+                        criticalByWorker[w] = sweeper.runPartitions(w, workers, partitions, runs, seed, completion)
+                )).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        long[] critical = new long[n];
+        for (long[] counts : criticalByWorker) {
+            for (int i = 0; i < n; i++) {
+                critical[topoOrder[i]] += counts[i];
+            }
+        }
+        Arrays.parallelSort(completion);
+        metrics.stopTimer();
+
+        metrics.setCounter("runs", runs);
+        metrics.setCounter("partitions", partitions);
+        metrics.setCounter("workers", workers);
+        metrics.setCounter("vertices_processed", (long) runs * n);
+        metrics.setCounter("edges_relaxed", (long) runs * predPos.length);
+        return new SimulationResult(completion, critical, metrics);
+    }
+
+    // Shared read-only inputs of one run(); each worker brings its own buffers
+    private final class Sweeper {
+        private final byte[] kindAt;
+        private final double[] minAt;
+        private final double[] modeAt;
+        private final double[] maxAt;
+
+        Sweeper(byte[] kindAt, double[] minAt, double[] modeAt, double[] maxAt) {
+            this.kindAt = kindAt;
+            this.minAt = minAt;
+            this.modeAt = modeAt;
+            this.maxAt = maxAt;
+        }
+
+        // Worker w takes partitions w, w + workers, ... and returns how often
+        // each position was on the critical path in its runs
+        long[] runPartitions(int w, int workers, int partitions, int runs, long seed, double[] completion) {
+            double[] finish = new double[n];
+            int[] pred = new int[n];
+            long[] critical = new long[n];
+            for (int p = w; p < partitions; p += workers) {
+                SplittableRandom random = new SplittableRandom(ScalableGraphGenerator.partitionSeed(seed, p));
+                int end = (int) Math.min(runs, (long) (p + 1) * RUNS_PER_PARTITION);
+                for (int r = p * RUNS_PER_PARTITION; r < end; r++) {
+                    completion[r] = sweep(random, finish, pred, critical);
+                }
+            }
+            return critical;
+        }
+
+        // One run: every position is written before it is read, so finish and
+        // pred carry nothing over from the previous run
+        private double sweep(SplittableRandom random, double[] finish, int[] pred, long[] critical) {
+            double latest = Double.NEGATIVE_INFINITY;
+            int last = -1;
+            for (int i = 0; i < n; i++) {
+                double start = 0;
+                int from = -1;
+                for (int a = predStart[i], end = predStart[i + 1]; a < end; a++) {
+                    double ready = finish[predPos[a]] + predLag[a];
+                    if (ready > start) {
+                        start = ready;
+                        from = predPos[a];
+                    }
+                }
+                double f = start + draw(i, random);
+                finish[i] = f;
+                pred[i] = from;
+                if (f > latest) {
+                    latest = f;
+                    last = i;
+                }
+            }
+            // Ties go to the earliest position, so each run counts one path
+            for (int at = last; at != -1; at = pred[at]) {
+                critical[at]++;
+            }
+            return latest;
+        }
+
+        private double draw(int i, SplittableRandom random) {
+            switch (kindAt[i]) {
+                case UNIFORM:
+                    return minAt[i] + random.nextDouble() * (maxAt[i] - minAt[i]);
+                case TRIANGULAR: {
+                    double a = minAt[i];
+                    double c = modeAt[i];
+                    double b = maxAt[i];
+                    double u = random.nextDouble();
+                    // Inverse CDF, split at the mode
+                    return u < (c - a) / (b - a)
+                            ? a + Math.sqrt(u * (b - a) * (c - a))
+                            : b - Math.sqrt((1 - u) * (b - a) * (b - c));
+                }
+                default:
+                    return minAt[i];
+            }
+        }
+    }
+
+    public int getVertexCount() {
+        return n;
+    }
+
+    public static class SimulationResult {
+        private final double[] completion;
+        private final long[] critical;
+        private final Metrics metrics;
+        private final double mean;
+        private final double stdDev;
+
+        SimulationResult(double[] sortedCompletion, long[] critical, Metrics metrics) {
+            this.completion = sortedCompletion;
+            this.critical = critical;
+            this.metrics = metrics;
+            double sum = 0;
+            for (double t : completion) {
+                sum += t;
+            }
+            this.mean = sum / completion.length;
+            double squares = 0;
+            for (double t : completion) {
+                squares += (t - mean) * (t - mean);
+            }
+            this.stdDev = Math.sqrt(squares / completion.length);
+        }
+
+        public int getRuns() { return completion.length; }
+        public double getMean() { return mean; }
+        public double getStdDev() { return stdDev; }
+        public double getMin() { return completion[0]; }
+        public double getMax() { return completion[completion.length - 1]; }
+
+        // Nearest-rank percentile of completion time, p in [0, 100]
+        public double getPercentile(double p) {
+            if (!(p >= 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentile must be in [0, 100]: " + p);
+            }
+            int rank = (int) Math.ceil(p / 100 * completion.length);
+            return completion[Math.max(rank, 1) - 1];
+        }
+
+        // Fraction of runs that finished by the deadline
+        public double getProbabilityWithin(double deadline) {
+            int lo = 0;
+            int hi = completion.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (completion[mid] <= deadline) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return (double) lo / completion.length;
+        }
+
+        // Fraction of runs in which v was on the critical path
+        public double getCriticalityIndex(int v) {
+            return (double) critical[v] / completion.length;
+        }
+
+        public double[] getCriticalityIndices() {
+            double[] indices = new double[critical.length];
+            for (int v = 0; v < critical.length; v++) {
+                indices[v] = getCriticalityIndex(v);
+            }
+            return indices;
+        }
+
+        public long getCriticalCount(int v) { return critical[v]; }
+
+        // Completion time of every run, ascending
+        public double[] getCompletionTimes() { return completion.clone(); }
+
+        public long getElapsedTime() { return metrics.getElapsedTime(); }
+        public Metrics getMetrics() { return metrics; }
+    }
+}
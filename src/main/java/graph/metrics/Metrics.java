@@ -1,17 +1,50 @@
 package graph.metrics;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Metrics {
+    // Run with -Dgraph.metrics.enabled=false to compile counter updates away:
+    // the flag is a static final constant, so the JIT drops the guarded code.
+    public static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("graph.metrics.enabled", "true"));
+
     private final String algorithmName;
-    private final Map<String, Long> counters;
+    // The slot layout (slots and names) is shared between a Metrics and the
+    // runs made from it until either side registers a new counter
+    private Map<String, Integer> slots;
+    private String[] names;
+    private boolean sharedLayout;
+    private long[] values;
+    // Slots set through setCounter; allocated on first use
+    private boolean[] explicit;
+    private int slotCount;
     private long startTime;
     private long endTime;
 
     public Metrics(String algorithmName) {
         this.algorithmName = algorithmName;
-        this.counters = new HashMap<>();
+        this.slots = new HashMap<>();
+        this.names = new String[8];
+        this.values = new long[8];
+    }
+
+    private Metrics(Metrics layout) {
+        this.algorithmName = layout.algorithmName;
+        this.slots = layout.slots;
+        this.names = layout.names;
+        this.sharedLayout = true;
+        this.values = new long[layout.names.length];
+        this.slotCount = layout.slotCount;
+    }
+
+    // Zeroed counters with the same name and slot layout, so slots registered
+    // on this instance stay valid on the copy. Only the counter array is
+    // allocated; the layout is shared.
+    public Metrics newRun() {
+        sharedLayout = true;
+        return new Metrics(this);
     }
 
     public void startTimer() {
@@ -26,22 +59,68 @@ public class Metrics {
         return endTime - startTime;
     }
 
+    // Returns the slot for a counter name, creating it on first use.
+    // Hot loops register their counters once and then update by slot.
+    public int registerCounter(String counterName) {
+        Integer slot = slots.get(counterName);
+        if (slot != null) {
+            return slot;
+        }
+        if (sharedLayout) {
+            slots = new HashMap<>(slots);
+            names = names.clone();
+            sharedLayout = false;
+        }
+        if (slotCount == values.length) {
+            names = Arrays.copyOf(names, slotCount * 2);
+            values = Arrays.copyOf(values, slotCount * 2);
+            if (explicit != null) {
+                explicit = Arrays.copyOf(explicit, slotCount * 2);
+            }
+        }
+        names[slotCount] = counterName;
+        slots.put(counterName, slotCount);
+        return slotCount++;
+    }
+
+    public void increment(int slot) {
+        if (ENABLED) {
+            values[slot]++;
+        }
+    }
+
+    public void add(int slot, long delta) {
+        if (ENABLED) {
+            values[slot] += delta;
+        }
+    }
+
+    public long get(int slot) {
+        return values[slot];
+    }
+
     public void incrementCounter(String counterName) {
-        counters.put(counterName, counters.getOrDefault(counterName, 0L) + 1);
+        increment(registerCounter(counterName));
     }
 
     public void setCounter(String counterName, long value) {
-        counters.put(counterName, value);
+        int slot = registerCounter(counterName);
+        values[slot] = value;
+        if (explicit == null) {
+            explicit = new boolean[values.length];
+        }
+        explicit[slot] = true;
     }
 
     public long getCounter(String counterName) {
-        return counters.getOrDefault(counterName, 0L);
+        Integer slot = slots.get(counterName);
+        return slot == null ? 0L : values[slot];
     }
 
     public void printMetrics() {
         System.out.println("=== Metrics for " + algorithmName + " ===");
         System.out.printf("Time: %.3f ms\n", getElapsedTime() / 1_000_000.0);
-        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+        for (Map.Entry<String, Long> entry : counters().entrySet()) {
             System.out.println(entry.getKey() + ": " + entry.getValue());
         }
         System.out.println();
@@ -51,7 +130,19 @@ public class Metrics {
         Map<String, Object> metricsMap = new HashMap<>();
         metricsMap.put("algorithm", algorithmName);
         metricsMap.put("time_ms", getElapsedTime() / 1_000_000.0);
-        metricsMap.putAll(counters);
+        metricsMap.putAll(counters());
         return metricsMap;
     }
-}
\ No newline at end of file
+
+    // Counters that were touched, as the name -> value map reports always showed;
+    // a registered slot that never moved off zero is left out
+    private Map<String, Long> counters() {
+        Map<String, Long> counters = new HashMap<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (values[slot] != 0 || (explicit != null && explicit[slot])) {
+                counters.put(names[slot], values[slot]);
+            }
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,32 @@
+package graph.metrics;
+
+// Per-invocation metrics for algorithm instances shared between threads.
+// Counters are registered once, in the algorithm's constructor; every run
+// then records into its own Metrics, and getLast() returns the calling
+// thread's most recent run on that instance.
+public final class RunMetrics {
+    private final Metrics layout;
+    private final ThreadLocal<Metrics> last = new ThreadLocal<>();
+
+    public RunMetrics(String algorithmName) {
+        this.layout = new Metrics(algorithmName);
+    }
+
+    // Only safe before the instance is shared, i.e. from a constructor
+    public int registerCounter(String counterName) {
+        return layout.registerCounter(counterName);
+    }
+
+    // Fresh metrics for one run, with its timer already started
+    public Metrics start() {
+        Metrics run = layout.newRun();
+        last.set(run);
+        run.startTimer();
+        return run;
+    }
+
+    public Metrics getLast() {
+        Metrics run = last.get();
+        return run != null ? run : layout.newRun();
+    }
+}
@@ -0,0 +1,170 @@
+package graph.model;
+
+import java.util.Arrays;
+
+// Immutable compressed sparse row form of a graph: arcs of u live in
+// targets/weights at [offsets[u], offsets[u + 1]).
+public final class CSRGraph implements GraphView {
+    private final int n;
+    private final boolean directed;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private volatile CSRGraph transpose;
+
+    public CSRGraph(int n, boolean directed, int[] offsets, int[] targets, double[] weights) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("Offsets length must be n + 1 = " + (n + 1));
+        }
+        int m = offsets[n];
+        if (targets.length < m || weights.length < m) {
+            throw new IllegalArgumentException("Targets and weights must hold " + m + " arcs");
+        }
+        this.n = n;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CSRGraph fromGraph(Graph graph) {
+        int n = graph.getN();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getNeighbors(u).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int pos = 0;
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : graph.getNeighbors(u)) {
+                targets[pos] = edge.getV();
+                weights[pos] = edge.getWeight();
+                pos++;
+            }
+        }
+        return new CSRGraph(n, graph.isDirected(), offsets, targets, weights);
+    }
+
+    // Builds the CSR form from the first m entries of parallel edge arrays.
+    // Arc order per vertex follows input order, matching Graph.addEdge.
+    public static CSRGraph fromEdges(int n, boolean directed, int[] src, int[] dst, double[] w, int m) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            validateVertex(src[i], n);
+            validateVertex(dst[i], n);
+            offsets[src[i] + 1]++;
+            if (!directed) {
+                offsets[dst[i] + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for (int i = 0; i < m; i++) {
+            int pos = cursor[src[i]]++;
+            targets[pos] = dst[i];
+            weights[pos] = w[i];
+            if (!directed) {
+                pos = cursor[dst[i]]++;
+                targets[pos] = src[i];
+                weights[pos] = w[i];
+            }
+        }
+        return new CSRGraph(n, directed, offsets, targets, weights);
+    }
+
+    // Reverse adjacency of any view, arcs of each vertex in increasing source order.
+    public static CSRGraph transposeOf(GraphView graph, boolean directed) {
+        int n = graph.getN();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                offsets[graph.target(e) + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int pos = cursor[graph.target(e)]++;
+                targets[pos] = u;
+                weights[pos] = graph.weight(e);
+            }
+        }
+        return new CSRGraph(n, directed, offsets, targets, weights);
+    }
+
+    // Built on first use and reused afterwards; the graph never changes
+    @Override
+    public CSRGraph getTranspose() {
+        CSRGraph reversed = transpose;
+        if (reversed == null) {
+            reversed = directed ? transposeOf(this, true) : this;
+            transpose = reversed;
+        }
+        return reversed;
+    }
+
+    public Graph toGraph() {
+        Graph graph = new Graph(n, directed);
+        for (int u = 0; u < n; u++) {
+            graph.reserve(u, offsets[u + 1] - offsets[u]);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                graph.addArc(u, targets[e], weights[e]);
+            }
+        }
+        return graph;
+    }
+
+    @Override
+    public int getN() { return n; }
+
+    @Override
+    public int getEdgeCount() { return offsets[n]; }
+
+    @Override
+    public int edgeStart(int u) { return offsets[u]; }
+
+    @Override
+    public int edgeEnd(int u) { return offsets[u + 1]; }
+
+    @Override
+    public int target(int edge) { return targets[edge]; }
+
+    @Override
+    public double weight(int edge) { return weights[edge]; }
+
+    public boolean isDirected() { return directed; }
+
+    private static void validateVertex(int u, int n) {
+        if (u < 0 || u >= n) {
+            throw new IllegalArgumentException("Vertex " + u + " is not in graph [0," + (n-1) + "]");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CSRGraph(n=").append(n).append(", directed=").append(directed).append(")\n");
+        for (int u = 0; u < n; u++) {
+            sb.append(u).append(": [");
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (e > offsets[u]) sb.append(", ");
+                sb.append("->").append(targets[e]).append("(").append(weights[e]).append(")");
+            }
+            sb.append("]\n");
+        }
+        return sb.toString();
+    }
+}
@@ -7,6 +7,7 @@ public class Graph {
     private final List<List<Edge>> adjList;
     private final boolean directed;
     private final Map<String, Object> properties;
+    private CSRGraph csr;
 
     public Graph(int n, boolean directed) {
         this.n = n;
@@ -26,6 +27,17 @@ public class Graph {
         if (!directed) {
             adjList.get(v).add(new Edge(u, weight));
         }
+        csr = null;
+    }
+
+    // Appends a single arc regardless of directedness; used when copying arc lists.
+    void addArc(int u, int v, double weight) {
+        adjList.get(u).add(new Edge(v, weight));
+        csr = null;
+    }
+
+    void reserve(int u, int capacity) {
+        ((ArrayList<Edge>) adjList.get(u)).ensureCapacity(capacity);
     }
 
     public List<Edge> getNeighbors(int u) {
@@ -45,6 +57,16 @@ public class Graph {
         return transpose;
     }
 
+    // Frozen CSR snapshot, rebuilt only after the graph has been modified
+    public CSRGraph toCSR() {
+        CSRGraph snapshot = csr;
+        if (snapshot == null) {
+            snapshot = CSRGraph.fromGraph(this);
+            csr = snapshot;
+        }
+        return snapshot;
+    }
+
     public int getN() { return n; }
     public boolean isDirected() { return directed; }
 
@@ -0,0 +1,172 @@
+package graph.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Bulk construction from parallel edge arrays in two passes over the input.
+// The edges are cut into contiguous chunks; each chunk counts its own
+// out-degree histogram, the histograms are prefix-summed over (vertex,
+// chunk) into CSR offsets plus a starting slot per chunk and vertex, and
+// each chunk then scatters its arcs straight into its reserved slots of the
+// presized target and weight arrays. Every edge is read once per pass,
+// every slot has a single writer, and arcs keep their input order, so the
+// result is identical to CSRGraph.fromEdges. Nothing is allocated per edge.
+public class GraphBuilder {
+    // Below this many edges the sequential CSRGraph.fromEdges is faster
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private final int n;
+    private final boolean directed;
+    private final int parallelism;
+    private final int sequentialThreshold;
+
+    public GraphBuilder(int n, boolean directed) {
+        this(n, directed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public GraphBuilder(int n, boolean directed, int parallelism) {
+        this(n, directed, parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public GraphBuilder(int n, boolean directed, int parallelism, int sequentialThreshold) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative: " + n);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException("Sequential threshold must not be negative: " + sequentialThreshold);
+        }
+        this.n = n;
+        this.directed = directed;
+        this.parallelism = parallelism;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public CSRGraph buildCSR(int[] src, int[] dst, double[] w) {
+        return buildCSR(src, dst, w, src.length);
+    }
+
+    // Uses the first m entries of the arrays
+    public CSRGraph buildCSR(int[] src, int[] dst, double[] w, int m) {
+        if (m < 0 || src.length < m || dst.length < m || w.length < m) {
+            throw new IllegalArgumentException("Edge arrays must hold " + m + " edges");
+        }
+        long arcs = directed ? m : 2L * m;
+        if (arcs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many arcs for an int-indexed graph: " + arcs);
+        }
+        if (parallelism == 1 || m < sequentialThreshold) {
+            return CSRGraph.fromEdges(n, directed, src, dst, w, m);
+        }
+
+        // One int[n] histogram per chunk; capped at the average degree so the
+        // histograms never outgrow the arc arrays they index
+        int chunks = (int) Math.max(1, Math.min(Math.min(parallelism, m / MIN_CHUNK), arcs / Math.max(1, n)));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int[][] cursors = countChunks(pool, src, dst, m, chunks);
+            int[] offsets = prefixSum(pool, cursors);
+            int total = offsets[n];
+            int[] targets = new int[total];
+            double[] weights = new double[total];
+            scatter(pool, src, dst, w, m, cursors, targets, weights);
+            return new CSRGraph(n, directed, offsets, targets, weights);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Exact-capacity adjacency lists, so no list grows while it is filled.
+    // Graph still holds one Edge object per arc.
+    public Graph buildGraph(int[] src, int[] dst, double[] w) {
+        return buildCSR(src, dst, w).toGraph();
+    }
+
+    public Graph buildGraph(int[] src, int[] dst, double[] w, int m) {
+        return buildCSR(src, dst, w, m).toGraph();
+    }
+
+    // Chunk c's histogram holds how many arcs of each source vertex its edges
+    // produce. No atomics: every histogram has one writer.
+    private int[][] countChunks(ForkJoinPool pool, int[] src, int[] dst, int m, int chunks) {
+        int[][] counts = new int[chunks][];
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] count = new int[n];
+            for (int i = chunkStart(m, chunks, c), end = chunkStart(m, chunks, c + 1); i < end; i++) {
+                validateVertex(src[i]);
+                validateVertex(dst[i]);
+                count[src[i]]++;
+                if (!directed) {
+                    count[dst[i]]++;
+                }
+            }
+            counts[c] = count;
+        })).join();
+        return counts;
+    }
+
+    // Offsets are the per-vertex sums. Each histogram entry is then replaced by
+    // the first slot its chunk writes for that vertex, ordered by (vertex,
+    // chunk), so earlier chunks fill earlier slots and input order is kept.
+    private int[] prefixSum(ForkJoinPool pool, int[][] counts) {
+        int chunks = counts.length;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int degree = 0;
+            for (int c = 0; c < chunks; c++) {
+                degree += counts[c][u];
+            }
+            offsets[u + 1] = offsets[u] + degree;
+        }
+        int ranges = Math.max(1, Math.min(parallelism, n / MIN_CHUNK));
+        pool.submit(() -> IntStream.range(0, ranges).parallel().forEach(r -> {
+            for (int u = chunkStart(n, ranges, r), end = chunkStart(n, ranges, r + 1); u < end; u++) {
+                int pos = offsets[u];
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][u];
+                    counts[c][u] = pos;
+                    pos += count;
+                }
+            }
+        })).join();
+        return offsets;
+    }
+
+    // Each chunk reads its own edges once and writes only its reserved slots
+    private void scatter(ForkJoinPool pool, int[] src, int[] dst, double[] w, int m,
+                         int[][] cursors, int[] targets, double[] weights) {
+        int chunks = cursors.length;
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] cursor = cursors[c];
+            for (int i = chunkStart(m, chunks, c), end = chunkStart(m, chunks, c + 1); i < end; i++) {
+                int u = src[i];
+                int v = dst[i];
+                int pos = cursor[u]++;
+                targets[pos] = v;
+                weights[pos] = w[i];
+                if (!directed) {
+                    pos = cursor[v]++;
+                    targets[pos] = u;
+                    weights[pos] = w[i];
+                }
+            }
+        })).join();
+    }
+
+    private static int chunkStart(int total, int chunks, int c) {
+        return (int) ((long) total * c / chunks);
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " is not in graph [0," + (n - 1) + "]");
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
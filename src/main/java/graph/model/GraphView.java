@@ -0,0 +1,22 @@
+package graph.model;
+
+// Read-only, index-based view of a directed adjacency structure.
+// Arcs leaving u are the edge ids in [edgeStart(u), edgeEnd(u)).
+public interface GraphView {
+    int getN();
+    int getEdgeCount();
+    int edgeStart(int u);
+    int edgeEnd(int u);
+    int target(int edge);
+    double weight(int edge);
+
+    default int outDegree(int u) {
+        return edgeEnd(u) - edgeStart(u);
+    }
+
+    // Reverse adjacency. This default builds a new CSRGraph on every call;
+    // CSRGraph and MappedCSRGraph build it once and keep it.
+    default GraphView getTranspose() {
+        return CSRGraph.transposeOf(this, true);
+    }
+}
@@ -0,0 +1,193 @@
+package graph.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// CSR graph backed by memory-mapped sections of a binary graph file, so
+// traversals read the page cache directly instead of copying to the heap.
+//
+// File layout (little endian):
+//   header  magic "GRPH", int version, int flags (bit 0 = directed), int n,
+//           long m, int source (-1 if none), int reserved            32 bytes
+//   offsets (n + 1) ints
+//   targets m ints, then zero padding to an 8-byte boundary
+//   weights m doubles
+//
+// A single mapping is limited to 2 GB, so each section is mapped as a series
+// of windows of 2^27 entries and an index is split into a window
+// and a position inside it. Sections of any length fit.
+public final class MappedCSRGraph implements GraphView {
+    public static final int MAGIC = 0x48505247; // "GRPH" read little endian
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int FLAG_DIRECTED = 1;
+
+    // 2^27 entries: 512 MB of ints or 1 GB of doubles per window
+    static final int DEFAULT_WINDOW_SHIFT = 27;
+
+    private final int n;
+    private final int m;
+    private final boolean directed;
+    private final int source;
+    private final IntBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights;
+    private final int shift;
+    private final int mask;
+    private volatile GraphView transpose;
+
+    private MappedCSRGraph(int n, int m, boolean directed, int source, int shift,
+                           IntBuffer[] offsets, IntBuffer[] targets, DoubleBuffer[] weights) {
+        this.n = n;
+        this.m = m;
+        this.directed = directed;
+        this.source = source;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+    }
+
+    public static MappedCSRGraph open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_SHIFT);
+    }
+
+    // Windows of 2^windowShift entries; smaller windows let tests cross window boundaries
+    static MappedCSRGraph open(Path path, int windowShift) throws IOException {
+        if (windowShift < 1 || windowShift > DEFAULT_WINDOW_SHIFT) {
+            throw new IllegalArgumentException("Window shift must be in [1, " + DEFAULT_WINDOW_SHIFT + "]: " + windowShift);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("File too small for a graph header: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + ": " + path);
+            }
+            boolean directed = (header.getInt(8) & FLAG_DIRECTED) != 0;
+            int n = header.getInt(12);
+            long m = header.getLong(16);
+            int source = header.getInt(24);
+            if (n < 0 || m < 0 || m > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt binary graph header: " + path);
+            }
+
+            long offsetsAt = HEADER_BYTES;
+            long targetsAt = offsetsAt + 4L * (n + 1);
+            long weightsAt = weightsOffset(n, m);
+            if (size < weightsAt + 8L * m) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            IntBuffer[] offsets = mapInts(channel, offsetsAt, n + 1L, windowShift);
+            IntBuffer[] targets = mapInts(channel, targetsAt, m, windowShift);
+            DoubleBuffer[] weights = mapDoubles(channel, weightsAt, m, windowShift);
+            MappedCSRGraph graph = new MappedCSRGraph(n, (int) m, directed, source, windowShift,
+                    offsets, targets, weights);
+            if (graph.edgeStart(n) != m) {
+                throw new IOException("Offsets do not match edge count: " + path);
+            }
+            return graph;
+        }
+    }
+
+    // Start of the weights section, aligned to 8 bytes
+    public static long weightsOffset(int n, long m) {
+        long end = HEADER_BYTES + 4L * (n + 1) + 4L * m;
+        return (end + 7) & ~7L;
+    }
+
+    private static IntBuffer[] mapInts(FileChannel channel, long position, long count, int shift) throws IOException {
+        IntBuffer[] windows = new IntBuffer[windowCount(count, shift)];
+        for (int w = 0; w < windows.length; w++) {
+            long first = (long) w << shift;
+            long length = Math.min(1L << shift, count - first);
+            windows[w] = map(channel, position + 4L * first, 4L * length).asIntBuffer();
+        }
+        return windows;
+    }
+
+    private static DoubleBuffer[] mapDoubles(FileChannel channel, long position, long count, int shift) throws IOException {
+        DoubleBuffer[] windows = new DoubleBuffer[windowCount(count, shift)];
+        for (int w = 0; w < windows.length; w++) {
+            long first = (long) w << shift;
+            long length = Math.min(1L << shift, count - first);
+            windows[w] = map(channel, position + 8L * first, 8L * length).asDoubleBuffer();
+        }
+        return windows;
+    }
+
+    // At least one window, so an empty section still has a buffer to read from
+    private static int windowCount(long count, int shift) {
+        return (int) Math.max(1, (count + (1L << shift) - 1) >>> shift);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    // Copies the mapped sections into an on-heap CSRGraph
+    public CSRGraph toCSR() {
+        int[] offsetArray = new int[n + 1];
+        int[] targetArray = new int[m];
+        double[] weightArray = new double[m];
+        for (int w = 0; w < offsets.length; w++) {
+            offsets[w].duplicate().get(offsetArray, w << shift, offsets[w].capacity());
+        }
+        for (int w = 0; w < targets.length; w++) {
+            targets[w].duplicate().get(targetArray, w << shift, targets[w].capacity());
+            weights[w].duplicate().get(weightArray, w << shift, weights[w].capacity());
+        }
+        return new CSRGraph(n, directed, offsetArray, targetArray, weightArray);
+    }
+
+    @Override
+    public int getN() { return n; }
+
+    @Override
+    public int getEdgeCount() { return m; }
+
+    @Override
+    public int edgeStart(int u) { return offsets[u >>> shift].get(u & mask); }
+
+    @Override
+    public int edgeEnd(int u) { return edgeStart(u + 1); }
+
+    @Override
+    public int target(int edge) { return targets[edge >>> shift].get(edge & mask); }
+
+    @Override
+    public double weight(int edge) { return weights[edge >>> shift].get(edge & mask); }
+
+    public boolean isDirected() { return directed; }
+
+    // Built on the heap on first use and reused afterwards; the file is read-only
+    @Override
+    public GraphView getTranspose() {
+        GraphView reversed = transpose;
+        if (reversed == null) {
+            reversed = directed ? CSRGraph.transposeOf(this, true) : this;
+            transpose = reversed;
+        }
+        return reversed;
+    }
+
+    // Source vertex stored in the header, or -1 when the file has none
+    public int getSource() { return source; }
+}
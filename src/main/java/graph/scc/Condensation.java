@@ -0,0 +1,39 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+
+import java.util.List;
+
+// SCC decomposition together with its condensation DAG. Component ids are
+// topologically numbered: every condensation arc goes from a lower id to a
+// higher one, so 0..k-1 is already a valid topological order.
+public class Condensation {
+    private final SccResult components;
+    private final CSRGraph dag;
+
+    public Condensation(SccResult components, CSRGraph dag) {
+        this.components = components;
+        this.dag = dag;
+    }
+
+    public Condensation(int[] componentOf, List<List<Integer>> components, CSRGraph dag) {
+        this(SccResult.fromComponents(componentOf.length, components), dag);
+    }
+
+    public int getComponentCount() { return components.getComponentCount(); }
+    public int getComponentOf(int vertex) { return components.getComponentOf(vertex); }
+    public int[] getComponentOf() { return components.getComponentOf(); }
+    public SccResult getSccResult() { return components; }
+    public List<List<Integer>> getComponents() { return components.asLists(); }
+    public List<Integer> getComponent(int component) { return components.asLists().get(component); }
+    public int[] getMembers(int component) { return components.getComponent(component); }
+    public CSRGraph getDag() { return dag; }
+
+    public int[] getTopologicalOrder() {
+        int[] order = new int[components.getComponentCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,154 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Builds a condensation DAG with at most one arc per ordered component pair.
+// Parallel arcs are merged by a WeightPolicy; the output is CSR with each
+// component's arcs sorted by target id.
+public class CondensationBuilder {
+    public enum WeightPolicy {
+        MIN, MAX, SUM;
+
+        double combine(double current, double next) {
+            switch (this) {
+                case MIN: return Math.min(current, next);
+                case MAX: return Math.max(current, next);
+                default: return current + next;
+            }
+        }
+    }
+
+    private final WeightPolicy policy;
+    private final int parallelism;
+
+    public CondensationBuilder(WeightPolicy policy) {
+        this(policy, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CondensationBuilder(WeightPolicy policy, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.policy = policy;
+        this.parallelism = parallelism;
+    }
+
+    public CSRGraph build(GraphView graph, int[] componentOf, int componentCount) {
+        int n = graph.getN();
+        int k = componentCount;
+
+        // Group vertices by component so each component's arcs are scanned together
+        int[] memberOffsets = new int[k + 1];
+        for (int v = 0; v < n; v++) {
+            memberOffsets[componentOf[v] + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] cursor = Arrays.copyOf(memberOffsets, k);
+        int[] members = new int[n];
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentOf[v]]++] = v;
+        }
+
+        // Chunk boundaries split the member array into roughly equal vertex ranges
+        int chunkCount = Math.max(1, Math.min(k, parallelism * 4));
+        int[] chunkStart = new int[chunkCount + 1];
+        for (int i = 1; i < chunkCount; i++) {
+            int target = (int) ((long) n * i / chunkCount);
+            int c = Arrays.binarySearch(memberOffsets, 0, k + 1, target);
+            c = c >= 0 ? c : -c - 1;
+            chunkStart[i] = Math.max(chunkStart[i - 1], Math.min(c, k));
+        }
+        chunkStart[chunkCount] = k;
+
+        int[] degree = new int[k];
+        Chunk[] chunks = new Chunk[chunkCount];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, chunkCount).parallel().forEach(i ->
+                    chunks[i] = mergeChunk(graph, componentOf, members, memberOffsets,
+                            chunkStart[i], chunkStart[i + 1], degree))).join();
+
+            int[] offsets = new int[k + 1];
+            for (int c = 0; c < k; c++) {
+                offsets[c + 1] = offsets[c] + degree[c];
+            }
+            int[] targets = new int[offsets[k]];
+            double[] weights = new double[offsets[k]];
+            pool.submit(() -> IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                int at = offsets[chunkStart[i]];
+                System.arraycopy(chunks[i].targets, 0, targets, at, chunks[i].size);
+                System.arraycopy(chunks[i].weights, 0, weights, at, chunks[i].size);
+            })).join();
+
+            return new CSRGraph(k, true, offsets, targets, weights);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Collects the cross-component arcs of components [from, to), sorts them by
+    // (target, arc id) and collapses each run of equal targets into one arc.
+    private Chunk mergeChunk(GraphView graph, int[] componentOf, int[] members, int[] memberOffsets,
+                             int from, int to, int[] degree) {
+        Chunk chunk = new Chunk();
+        long[] keys = new long[16];
+
+        for (int c = from; c < to; c++) {
+            int count = 0;
+            for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+                int u = members[i];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int target = componentOf[graph.target(e)];
+                    if (target == c) continue;
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                    }
+                    keys[count++] = ((long) target << 32) | (e & 0xFFFFFFFFL);
+                }
+            }
+            Arrays.sort(keys, 0, count);
+
+            int before = chunk.size;
+            int i = 0;
+            while (i < count) {
+                int target = (int) (keys[i] >>> 32);
+                double weight = graph.weight((int) keys[i]);
+                i++;
+                while (i < count && (int) (keys[i] >>> 32) == target) {
+                    weight = policy.combine(weight, graph.weight((int) keys[i]));
+                    i++;
+                }
+                chunk.add(target, weight);
+            }
+            degree[c] = chunk.size - before;
+        }
+        return chunk;
+    }
+
+    public WeightPolicy getPolicy() {
+        return policy;
+    }
+
+    private static final class Chunk {
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        int size;
+
+        void add(int target, double weight) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
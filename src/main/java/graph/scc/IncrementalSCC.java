@@ -0,0 +1,275 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.metrics.Metrics;
+import graph.topo.PearceKellyOrder;
+
+import java.util.Arrays;
+
+// SCCs of a directed graph that only gains arcs. Components are kept in a
+// topological order (Pearce-Kelly): an arc that already points forward in
+// the order costs O(1). An arc cu -> cv with cv placed before cu only
+// disturbs the region between them: the components reachable from cv and
+// those reaching cu inside that region are searched, and if the two sets
+// meet, their intersection is the cycle the new arc closes and is merged into
+// one component. The region is then renumbered in place, so an insertion
+// costs time in the part of the condensation it affects rather than V + E.
+//
+// Components are identified by a representative vertex, which changes when
+// components merge. Not thread-safe.
+public class IncrementalSCC {
+    private final int n;
+    // Union-find over vertices; the root is the component's representative
+    private final int[] parent;
+    private final int[] size;
+    // Circular list through the members of each component
+    private final int[] nextMember;
+    // Order over representatives, with the arcs leaving each component
+    // (target vertex, weight) and entering it (source vertex). Only the
+    // representative's lists are live; arc endpoints resolve through find.
+    private final PearceKellyOrder order;
+
+    private int componentCount;
+    private long edgeCount;
+
+    private final Metrics metrics;
+    private final int edgesInsertedSlot;
+    private final int reordersSlot;
+    private final int mergesSlot;
+    private final int regionVisitedSlot;
+
+    public IncrementalSCC(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative: " + n);
+        }
+        this.n = n;
+        this.parent = new int[n];
+        this.size = new int[n];
+        this.nextMember = new int[n];
+        this.order = new PearceKellyOrder(n, this::find);
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            size[v] = 1;
+            nextMember[v] = v;
+        }
+        this.componentCount = n;
+
+        this.metrics = new Metrics("IncrementalSCC");
+        this.edgesInsertedSlot = metrics.registerCounter("edges_inserted");
+        this.reordersSlot = metrics.registerCounter("reorders");
+        this.mergesSlot = metrics.registerCounter("merges");
+        this.regionVisitedSlot = metrics.registerCounter("region_visited");
+    }
+
+    // Starts from the SCCs of an existing graph, found once with Tarjan
+    public IncrementalSCC(Graph graph) {
+        this(graph.toCSR());
+    }
+
+    public IncrementalSCC(GraphView graph) {
+        this(graph.getN());
+        SccResult sccs = new TarjanSCC().decompose(graph).reversed();
+        int[] offsets = sccs.getOffsets();
+        int[] members = sccs.getMembers();
+        int k = sccs.getComponentCount();
+
+        for (int position = k; position < n; position++) {
+            order.clear(position);
+        }
+        for (int c = 0; c < k; c++) {
+            int rep = members[offsets[c]];
+            order.place(rep, c);
+            size[rep] = offsets[c + 1] - offsets[c];
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                int v = members[i];
+                parent[v] = rep;
+                nextMember[v] = i + 1 < offsets[c + 1] ? members[i + 1] : rep;
+            }
+        }
+        componentCount = k;
+
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                if (parent[u] != parent[v]) {
+                    order.appendOut(parent[u], v, graph.weight(e));
+                    order.appendIn(parent[v], u);
+                }
+                edgeCount++;
+            }
+        }
+    }
+
+    public void addEdge(int u, int v, double weight) {
+        validateVertex(u);
+        validateVertex(v);
+        metrics.increment(edgesInsertedSlot);
+        edgeCount++;
+
+        int cu = find(u);
+        int cv = find(v);
+        if (cu == cv) {
+            return;
+        }
+        order.appendOut(cu, v, weight);
+        order.appendIn(cv, u);
+        if (order.position(cu) < order.position(cv)) {
+            return;
+        }
+        reorder(cu, cv);
+    }
+
+    // Inserts the first m arcs of parallel arrays, one at a time
+    public void addEdges(int[] src, int[] dst, double[] w, int m) {
+        for (int i = 0; i < m; i++) {
+            addEdge(src[i], dst[i], w[i]);
+        }
+    }
+
+    // Arc cu -> cv with cv placed before cu. Only components positioned in
+    // [ord[cv], ord[cu]] can lie on a path between them.
+    private void reorder(int cu, int cv) {
+        metrics.increment(reordersSlot);
+        boolean cycle = order.search(cu, cv);
+        metrics.add(regionVisitedSlot, order.regionSize());
+
+        // Components both reachable from cv and reaching cu form a cycle with
+        // the new arc; they collapse into one component between the two sides
+        int merged = -1;
+        if (cycle) {
+            merged = order.collapse(cu, this::union);
+            order.dropSelfArcs(merged);
+        }
+        order.reassign(merged);
+    }
+
+    // Union by size; the surviving root inherits both arc lists and member lists
+    private int union(int a, int b) {
+        metrics.increment(mergesSlot);
+        componentCount--;
+        if (size[a] < size[b]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+
+        int tmp = nextMember[a];
+        nextMember[a] = nextMember[b];
+        nextMember[b] = tmp;
+
+        order.moveArcs(b, a);
+        return a;
+    }
+
+    // Path halving
+    private int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public int getRepresentative(int v) {
+        validateVertex(v);
+        return find(v);
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return getRepresentative(u) == getRepresentative(v);
+    }
+
+    public int[] getComponent(int v) {
+        int rep = getRepresentative(v);
+        int[] members = new int[size[rep]];
+        int member = rep;
+        for (int i = 0; i < members.length; i++) {
+            members[i] = member;
+            member = nextMember[member];
+        }
+        Arrays.sort(members);
+        return members;
+    }
+
+    public int getComponentSize(int v) {
+        return size[getRepresentative(v)];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    // Representatives in topological order of the condensation
+    public int[] getTopologicalOrder() {
+        int[] reps = new int[componentCount];
+        int count = 0;
+        for (int position = 0; position < n; position++) {
+            if (order.nodeAt(position) >= 0) {
+                reps[count++] = order.nodeAt(position);
+            }
+        }
+        return reps;
+    }
+
+    // Current components, numbered in topological order like TarjanSCC.condense
+    public SccResult toSccResult() {
+        int[] idOf = new int[n];
+        int id = 0;
+        for (int position = 0; position < n; position++) {
+            int rep = order.nodeAt(position);
+            if (rep >= 0) {
+                idOf[rep] = id++;
+            }
+        }
+        int[] componentOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = idOf[find(v)];
+        }
+        return SccResult.fromComponentIds(componentOf, componentCount);
+    }
+
+    // Snapshot of the components and the condensation DAG. Parallel arcs are
+    // kept, as in TarjanSCC.condense.
+    public Condensation toCondensation() {
+        SccResult sccs = toSccResult();
+        int[] componentOf = sccs.getComponentOf();
+        int k = componentCount;
+        int[] offsets = new int[k + 1];
+        int[] reps = getTopologicalOrder();
+        for (int c = 0; c < k; c++) {
+            offsets[c + 1] = offsets[c] + order.outDegree(reps[c]);
+        }
+        int[] targets = new int[offsets[k]];
+        double[] weights = new double[offsets[k]];
+        for (int c = 0; c < k; c++) {
+            int rep = reps[c];
+            for (int i = 0; i < order.outDegree(rep); i++) {
+                targets[offsets[c] + i] = componentOf[order.outTarget(rep, i)];
+                weights[offsets[c] + i] = order.outWeight(rep, i);
+            }
+        }
+        return new Condensation(sccs, new CSRGraph(k, true, offsets, targets, weights));
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " is not in graph [0," + (n - 1) + "]");
+        }
+    }
+}
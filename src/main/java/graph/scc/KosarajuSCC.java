@@ -1,82 +1,196 @@
 package graph.scc;
 
 import graph.model.Graph;
-import graph.model.Edge;
+import graph.model.GraphView;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+import graph.util.Workspace;
 
 import java.util.*;
 
 public class KosarajuSCC {
-    private Metrics metrics;
+    // Scratch arrays reused across calls on the same thread; see Workspace
+    private static final ThreadLocal<Workspace> WORKSPACE = Workspace.perThread(5, 0);
+    private static final int CALL_STACK = 0;
+    private static final int EDGE_CURSOR = 1;
+    private static final int FINISH_ORDER = 2;
+    private static final int MEMBERS = 3;
+    private static final int COMPONENT_ENDS = 4;
+
+    private final RunMetrics runMetrics;
+    private final int sccsFoundSlot;
+    private final int edgesVisitedSlot;
+    private final int dfsCallsSlot;
 
     public KosarajuSCC() {
-        this.metrics = new Metrics("KosarajuSCC");
+        this.runMetrics = new RunMetrics("KosarajuSCC");
+        this.sccsFoundSlot = runMetrics.registerCounter("sccs_found");
+        this.edgesVisitedSlot = runMetrics.registerCounter("edges_visited");
+        this.dfsCallsSlot = runMetrics.registerCounter("dfs_calls");
     }
 
     public List<List<Integer>> findSCCs(Graph graph) {
-        metrics.startTimer();
+        // The CSR snapshot is cached by the graph, so its reverse adjacency is too
+        return findSCCs(graph.toCSR());
+    }
+
+    // Mutable lists the caller may sort or edit; decompose(graph).asLists()
+    // is the read-only view that boxes vertices only when read
+    public List<List<Integer>> findSCCs(GraphView graph) {
+        return decompose(graph).toLists();
+    }
+
+    public SccResult decompose(Graph graph) {
+        return decompose(graph.toCSR());
+    }
 
+    // Components in topological order of the condensation
+    public SccResult decompose(GraphView graph) {
         int n = graph.getN();
-        boolean[] visited = new boolean[n];
-        Stack<Integer> stack = new Stack<>();
-        List<List<Integer>> sccs = new ArrayList<>();
-
-        // First DFS: fill stack with finishing times
-        for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                dfsFirstPass(graph, i, visited, stack);
+        Metrics metrics = runMetrics.start();
+        int k = run(metrics, graph, -1);
+        Workspace workspace = WORKSPACE.get();
+        int[] offsets = new int[k + 1];
+        System.arraycopy(workspace.ints(COMPONENT_ENDS), 0, offsets, 1, k);
+        int[] members = Arrays.copyOf(workspace.ints(MEMBERS), n);
+        int[] componentOf = new int[n];
+        for (int c = 0; c < k; c++) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                componentOf[members[i]] = c;
             }
         }
+        metrics.stopTimer();
+        return new SccResult(componentOf, offsets, members);
+    }
 
-        // Get transpose graph
-        Graph transpose = graph.getTranspose();
-        Arrays.fill(visited, false);
-
-        // Second DFS: process in reverse order
-        while (!stack.isEmpty()) {
-            int node = stack.pop();
-            if (!visited[node]) {
-                List<Integer> scc = new ArrayList<>();
-                dfsSecondPass(transpose, node, visited, scc);
-                sccs.add(scc);
-                metrics.incrementCounter("sccs_found");
+    // SCCs of the subgraph reachable from source. Every SCC meeting that
+    // subgraph lies inside it, so the second pass is restricted to vertices
+    // marked by the first and the query costs O(reachable part).
+    public List<List<Integer>> findSCCsFrom(GraphView graph, int source) {
+        Metrics metrics = runMetrics.start();
+        int k = run(metrics, graph, source);
+        Workspace workspace = WORKSPACE.get();
+        int[] members = workspace.ints(MEMBERS);
+        int[] componentEnds = workspace.ints(COMPONENT_ENDS);
+        List<List<Integer>> sccs = new ArrayList<>(k);
+        int from = 0;
+        for (int c = 0; c < k; c++) {
+            List<Integer> scc = new ArrayList<>(componentEnds[c] - from);
+            for (int i = from; i < componentEnds[c]; i++) {
+                scc.add(members[i]);
             }
+            sccs.add(scc);
+            from = componentEnds[c];
         }
-
         metrics.stopTimer();
         return sccs;
     }
 
-    private void dfsFirstPass(Graph graph, int node, boolean[] visited, Stack<Integer> stack) {
-        metrics.incrementCounter("dfs_calls");
-        visited[node] = true;
-
-        for (Edge edge : graph.getNeighbors(node)) {
-            metrics.incrementCounter("edges_visited");
-            int neighbor = edge.getV();
-            if (!visited[neighbor]) {
-                dfsFirstPass(graph, neighbor, visited, stack);
+    // Leaves the SCCs in the calling thread's workspace: component c is
+    // MEMBERS[COMPONENT_ENDS[c - 1] .. COMPONENT_ENDS[c]). Returns their count.
+    private int run(Metrics metrics, GraphView graph, int source) {
+        int n = graph.getN();
+        Workspace workspace = WORKSPACE.get().begin(n);
+        int[] callStack = workspace.ints(CALL_STACK);
+        int[] edgeCursor = workspace.ints(EDGE_CURSOR);
+        int[] finishOrder = workspace.ints(FINISH_ORDER);
+        int[] members = workspace.ints(MEMBERS);
+        int[] componentEnds = workspace.ints(COMPONENT_ENDS);
+        int finished = 0;
+        int memberCount = 0;
+        int componentCount = 0;
+
+        // First DFS: record vertices by finishing time
+        if (source >= 0) {
+            finished = dfsFirstPass(metrics, graph, source, workspace, callStack, edgeCursor, finishOrder, finished);
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (!workspace.isMarked(i)) {
+                    finished = dfsFirstPass(metrics, graph, i, workspace, callStack, edgeCursor, finishOrder, finished);
+                }
             }
         }
 
-        stack.push(node);
+        GraphView transpose = graph.getTranspose();
+        // Vertices still stamped with the first-pass epoch are unassigned
+        int firstPass = workspace.getEpoch();
+        workspace.nextEpoch();
+
+        // Second DFS: process in reverse finishing order
+        for (int i = finished - 1; i >= 0; i--) {
+            int node = finishOrder[i];
+            if (!workspace.isMarked(node)) {
+                memberCount = dfsSecondPass(metrics, transpose, node, workspace, firstPass,
+                        callStack, edgeCursor, members, memberCount);
+                componentEnds[componentCount++] = memberCount;
+                metrics.increment(sccsFoundSlot);
+            }
+        }
+        return componentCount;
     }
 
-    private void dfsSecondPass(Graph graph, int node, boolean[] visited, List<Integer> scc) {
-        metrics.incrementCounter("dfs_calls");
-        visited[node] = true;
-        scc.add(node);
+    private int dfsFirstPass(Metrics metrics, GraphView graph, int root, Workspace workspace,
+                             int[] callStack, int[] edgeCursor, int[] finishOrder, int finished) {
+        int top = 0;
+        callStack[0] = root;
+        visit(metrics, graph, root, workspace, edgeCursor);
+
+        while (top >= 0) {
+            int node = callStack[top];
+            if (edgeCursor[node] < graph.edgeEnd(node)) {
+                int e = edgeCursor[node]++;
+                metrics.increment(edgesVisitedSlot);
+                int neighbor = graph.target(e);
+                if (!workspace.isMarked(neighbor)) {
+                    visit(metrics, graph, neighbor, workspace, edgeCursor);
+                    callStack[++top] = neighbor;
+                }
+            } else {
+                finishOrder[finished++] = node;
+                top--;
+            }
+        }
+        return finished;
+    }
 
-        for (Edge edge : graph.getNeighbors(node)) {
-            metrics.incrementCounter("edges_visited");
-            int neighbor = edge.getV();
-            if (!visited[neighbor]) {
-                dfsSecondPass(graph, neighbor, visited, scc);
+    private int dfsSecondPass(Metrics metrics, GraphView graph, int root, Workspace workspace, int firstPass,
+                              int[] callStack, int[] edgeCursor, int[] members, int memberCount) {
+        int top = 0;
+        callStack[0] = root;
+        visit(metrics, graph, root, workspace, edgeCursor);
+        members[memberCount++] = root;
+
+        while (top >= 0) {
+            int node = callStack[top];
+            if (edgeCursor[node] < graph.edgeEnd(node)) {
+                int e = edgeCursor[node]++;
+                metrics.increment(edgesVisitedSlot);
+                int neighbor = graph.target(e);
+                if (workspace.stamp(neighbor) == firstPass) {
+                    visit(metrics, graph, neighbor, workspace, edgeCursor);
+                    members[memberCount++] = neighbor;
+                    callStack[++top] = neighbor;
+                }
+            } else {
+                top--;
             }
         }
+        return memberCount;
     }
 
+    private void visit(Metrics metrics, GraphView graph, int node, Workspace workspace, int[] edgeCursor) {
+        metrics.increment(dfsCallsSlot);
+        workspace.mark(node);
+        edgeCursor[node] = graph.edgeStart(node);
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
+    }
+
+    // Drops the calling thread's scratch arrays
+    public static void releaseWorkspace() {
+        WORKSPACE.remove();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,430 @@
+package graph.scc;
+
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// Parallel SCC decomposition: trim vertices with zero in- or out-degree,
+// then split the rest recursively with forward-backward reachability.
+// Partitions below the sequential threshold are finished with Tarjan.
+public class ParallelSCC implements StronglyConnectedComponents {
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+    private static final int DONE = -1;
+    private static final int PIVOT_SAMPLES = 8;
+    // A split is poor when its largest part keeps all but 1/POOR_SPLIT_SHARE
+    private static final int POOR_SPLIT_SHARE = 8;
+    private static final int MAX_POOR_SPLITS = 3;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+    private final RunMetrics runMetrics;
+    private final TarjanSCC tarjan;
+
+    public ParallelSCC() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelSCC(int parallelism) {
+        this(parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelSCC(int parallelism, int sequentialThreshold) {
+        this(newPool(parallelism), sequentialThreshold);
+    }
+
+    // Runs on the caller's pool, e.g. one shared with other parallel stages
+    public ParallelSCC(ForkJoinPool pool) {
+        this(pool, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    // The pool lives as long as this instance; its idle workers time out, so
+    // it needs no shutdown
+    public ParallelSCC(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be positive: " + sequentialThreshold);
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.sequentialThreshold = sequentialThreshold;
+        this.runMetrics = new RunMetrics("ParallelSCC");
+        this.tarjan = new TarjanSCC();
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public List<List<Integer>> findSCCs(Graph graph) {
+        return findSCCs(graph.toCSR());
+    }
+
+    // Mutable lists the caller may sort or edit; decompose(graph).asLists()
+    // is the read-only view that boxes vertices only when read
+    public List<List<Integer>> findSCCs(GraphView graph) {
+        return decompose(graph).toLists();
+    }
+
+    @Override
+    public SccResult decompose(Graph graph) {
+        return decompose(graph.toCSR());
+    }
+
+    public SccResult decompose(GraphView graph) {
+        Metrics metrics = runMetrics.start();
+
+        Run run = new Run(graph, graph.getTranspose());
+
+        int[] remaining = pool.submit(run::trim).join();
+        pool.invoke(new SplitTask(run, remaining, 0));
+
+        metrics.setCounter("trimmed_vertices", run.trimmed.get());
+        metrics.setCounter("fwbw_splits", run.splits.get());
+        metrics.setCounter("sccs_found", run.nextComponent.get());
+        SccResult sccs = run.collect();
+
+        metrics.stopTimer();
+        return sccs;
+    }
+
+    @Override
+    public Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> sccs) {
+        return tarjan.buildCondensationGraph(originalGraph, sccs);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
+    public Metrics getMetrics() {
+        return runMetrics.getLast();
+    }
+
+    // Shared state of one decomposition. Each vertex belongs to exactly one
+    // partition at a time, so per-vertex slots are written by a single task.
+    private final class Run {
+        final GraphView graph;
+        final GraphView reverse;
+        final int n;
+        final int[] label;
+        final int[] componentOf;
+        final int[] index;
+        final int[] low;
+        final int[] edgeCursor;
+        final boolean[] onStack;
+        final AtomicInteger nextLabel = new AtomicInteger(1);
+        final AtomicInteger nextComponent = new AtomicInteger();
+        final AtomicLong trimmed = new AtomicLong();
+        final AtomicLong splits = new AtomicLong();
+
+        Run(GraphView graph, GraphView reverse) {
+            this.graph = graph;
+            this.reverse = reverse;
+            this.n = graph.getN();
+            this.label = new int[n];
+            this.componentOf = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+            this.edgeCursor = new int[n];
+            this.onStack = new boolean[n];
+        }
+
+        // Level-synchronous trimming: removing a vertex lowers its neighbours'
+        // degrees, and any that reach zero form the next frontier.
+        int[] trim() {
+            AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+            AtomicIntegerArray outDegree = new AtomicIntegerArray(n);
+            AtomicIntegerArray removed = new AtomicIntegerArray(n);
+            IntStream.range(0, n).parallel().forEach(v -> {
+                inDegree.set(v, reverse.outDegree(v));
+                outDegree.set(v, graph.outDegree(v));
+            });
+
+            int[] initial = new int[n];
+            AtomicInteger initialSize = new AtomicInteger();
+            IntStream.range(0, n).parallel().forEach(v -> {
+                if ((inDegree.get(v) == 0 || outDegree.get(v) == 0) && removed.compareAndSet(v, 0, 1)) {
+                    initial[initialSize.getAndIncrement()] = v;
+                }
+            });
+
+            int[] frontier = initial;
+            int[] next = new int[n];
+            AtomicInteger nextSize = new AtomicInteger();
+            int size = initialSize.get();
+            while (size > 0) {
+                int[] current = frontier;
+                int[] upcoming = next;
+                nextSize.set(0);
+                IntStream.range(0, size).parallel().forEach(i -> {
+                    int v = current[i];
+                    componentOf[v] = nextComponent.getAndIncrement();
+                    label[v] = DONE;
+                    for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                        int w = graph.target(e);
+                        if (inDegree.decrementAndGet(w) == 0 && removed.compareAndSet(w, 0, 1)) {
+                            upcoming[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                    for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                        int w = reverse.target(e);
+                        if (outDegree.decrementAndGet(w) == 0 && removed.compareAndSet(w, 0, 1)) {
+                            upcoming[nextSize.getAndIncrement()] = w;
+                        }
+                    }
+                });
+                trimmed.addAndGet(size);
+                next = frontier;
+                frontier = upcoming;
+                size = nextSize.get();
+            }
+
+            return IntStream.range(0, n).filter(v -> removed.get(v) == 0).toArray();
+        }
+
+        // Components ordered by their smallest vertex, members ascending
+        SccResult collect() {
+            int count = nextComponent.get();
+            int[] position = new int[count];
+            Arrays.fill(position, -1);
+            int next = 0;
+            for (int v = 0; v < n; v++) {
+                int c = componentOf[v];
+                if (position[c] == -1) {
+                    position[c] = next++;
+                }
+                componentOf[v] = position[c];
+            }
+            return SccResult.fromComponentIds(componentOf, count);
+        }
+    }
+
+    private final class SplitTask extends RecursiveAction {
+        private final Run run;
+        private final int[] initialMembers;
+        private final int initialLabel;
+
+        SplitTask(Run run, int[] members, int myLabel) {
+            this.run = run;
+            this.initialMembers = members;
+            this.initialLabel = myLabel;
+        }
+
+        // Each split keeps working on its largest part and forks the other
+        // two, which hold at most half the vertices each, so the fork depth
+        // stays logarithmic however many SCCs there are. A partition that
+        // sheds too little in several splits in a row, e.g. many small
+        // disconnected SCCs, is finished with Tarjan instead.
+        @Override
+        protected void compute() {
+            int[] members = initialMembers;
+            int myLabel = initialLabel;
+            List<SplitTask> forked = new ArrayList<>();
+            int misses = 0;
+
+            while (members.length > sequentialThreshold && misses < MAX_POOR_SPLITS) {
+                run.splits.incrementAndGet();
+                int[][] parts = new int[3][];
+                int[] labels = new int[3];
+                split(members, myLabel, parts, labels);
+
+                int largest = 0;
+                for (int i = 1; i < 3; i++) {
+                    if (parts[i].length > parts[largest].length) {
+                        largest = i;
+                    }
+                }
+                for (int i = 0; i < 3; i++) {
+                    if (i != largest && parts[i].length > 0) {
+                        SplitTask task = new SplitTask(run, parts[i], labels[i]);
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+                boolean poor = parts[largest].length > members.length - members.length / POOR_SPLIT_SHARE;
+                misses = poor ? misses + 1 : 0;
+                members = parts[largest];
+                myLabel = labels[largest];
+            }
+
+            if (members.length > 0) {
+                tarjanWithin(members, myLabel);
+            }
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+
+        // One forward-backward step: labels the pivot's SCC as done and
+        // returns the forward-only, backward-only and unreached members
+        private void split(int[] members, int myLabel, int[][] parts, int[] labels) {
+            int[] label = run.label;
+            int pivot = choosePivot(members);
+            int fwLabel = run.nextLabel.getAndIncrement();
+            int bwLabel = run.nextLabel.getAndIncrement();
+            int[] queue = new int[members.length];
+
+            // Forward closure of the pivot inside this partition
+            int head = 0;
+            int tail = 0;
+            label[pivot] = fwLabel;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = run.graph.edgeStart(v), end = run.graph.edgeEnd(v); e < end; e++) {
+                    int w = run.graph.target(e);
+                    if (label[w] == myLabel) {
+                        label[w] = fwLabel;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            // Backward closure: vertices reached both ways form the pivot's SCC
+            int component = run.nextComponent.getAndIncrement();
+            head = 0;
+            tail = 0;
+            label[pivot] = DONE;
+            run.componentOf[pivot] = component;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = run.reverse.edgeStart(v), end = run.reverse.edgeEnd(v); e < end; e++) {
+                    int w = run.reverse.target(e);
+                    if (label[w] == fwLabel) {
+                        label[w] = DONE;
+                        run.componentOf[w] = component;
+                        queue[tail++] = w;
+                    } else if (label[w] == myLabel) {
+                        label[w] = bwLabel;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            int forwardCount = 0;
+            int backwardCount = 0;
+            int restCount = 0;
+            for (int v : members) {
+                if (label[v] == fwLabel) forwardCount++;
+                else if (label[v] == bwLabel) backwardCount++;
+                else if (label[v] == myLabel) restCount++;
+            }
+            int[] forward = new int[forwardCount];
+            int[] backward = new int[backwardCount];
+            int[] rest = new int[restCount];
+            forwardCount = backwardCount = restCount = 0;
+            for (int v : members) {
+                if (label[v] == fwLabel) forward[forwardCount++] = v;
+                else if (label[v] == bwLabel) backward[backwardCount++] = v;
+                else if (label[v] == myLabel) rest[restCount++] = v;
+            }
+
+            parts[0] = forward;
+            parts[1] = backward;
+            parts[2] = rest;
+            labels[0] = fwLabel;
+            labels[1] = bwLabel;
+            labels[2] = myLabel;
+        }
+
+        // Best in*out degree among a few random members: a high score hints
+        // at a big SCC, and sampling at random keeps the split balanced on
+        // chains, where the first best vertex would sit at one end
+        private int choosePivot(int[] members) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pivot = members[0];
+            long best = -1;
+            for (int i = 0; i < PIVOT_SAMPLES; i++) {
+                int v = members[random.nextInt(members.length)];
+                long score = (long) run.graph.outDegree(v) * run.reverse.outDegree(v);
+                if (score > best) {
+                    best = score;
+                    pivot = v;
+                }
+            }
+            return pivot;
+        }
+
+        // Iterative Tarjan restricted to vertices still carrying myLabel
+        private void tarjanWithin(int[] members, int myLabel) {
+            int[] label = run.label;
+            int[] index = run.index;
+            int[] low = run.low;
+            int[] edgeCursor = run.edgeCursor;
+            boolean[] onStack = run.onStack;
+            int[] stack = new int[members.length];
+            int[] callStack = new int[members.length];
+            int stackSize = 0;
+            int counter = 0;
+
+            for (int v : members) {
+                index[v] = -1;
+            }
+
+            for (int root : members) {
+                if (index[root] != -1) continue;
+
+                int top = 0;
+                callStack[0] = root;
+                index[root] = low[root] = counter++;
+                stack[stackSize++] = root;
+                onStack[root] = true;
+                edgeCursor[root] = run.graph.edgeStart(root);
+
+                while (top >= 0) {
+                    int at = callStack[top];
+                    if (edgeCursor[at] < run.graph.edgeEnd(at)) {
+                        int to = run.graph.target(edgeCursor[at]++);
+                        if (label[to] != myLabel) continue;
+                        if (index[to] == -1) {
+                            index[to] = low[to] = counter++;
+                            stack[stackSize++] = to;
+                            onStack[to] = true;
+                            edgeCursor[to] = run.graph.edgeStart(to);
+                            callStack[++top] = to;
+                        } else if (onStack[to]) {
+                            low[at] = Math.min(low[at], index[to]);
+                        }
+                        continue;
+                    }
+
+                    if (index[at] == low[at]) {
+                        int component = run.nextComponent.getAndIncrement();
+                        while (true) {
+                            int node = stack[--stackSize];
+                            onStack[node] = false;
+                            run.componentOf[node] = component;
+                            if (node == at) break;
+                        }
+                    }
+
+                    top--;
+                    if (top >= 0) {
+                        int parent = callStack[top];
+                        low[parent] = Math.min(low[parent], low[at]);
+                    }
+                }
+            }
+
+            // Labels change only after the whole partition is finished so the
+            // label test above keeps seeing every member
+            for (int v : members) {
+                label[v] = DONE;
+            }
+        }
+    }
+}
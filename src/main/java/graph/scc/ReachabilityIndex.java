@@ -0,0 +1,325 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.metrics.Metrics;
+import graph.util.Workspace;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers "can u reach v" over a condensation whose component ids are
+// topologically numbered. Small condensations get a full bitset transitive
+// closure, so every query is one bit test. Larger ones get GRAIL interval
+// labels: each of `labelCount` randomized DFS traversals gives component c a
+// post-order rank post(c) and low(c), the smallest rank in its subtree, and
+// reach(a, b) implies [low(b), post(b)] lies inside [low(a), post(a)] for
+// every traversal. Most negative queries are rejected by the id order or the
+// labels in O(labelCount); the rest run a DFS pruned by the same two tests.
+//
+// Immutable after construction; queries may run on any number of threads.
+public final class ReachabilityIndex {
+    public static final int DEFAULT_LABEL_COUNT = 3;
+    // The closure needs k * k / 8 bytes: 2 MB at this size
+    public static final int DEFAULT_CLOSURE_THRESHOLD = 4096;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = Workspace.perThread(1, 0);
+    private static final int CALL_STACK = 0;
+
+    private final Condensation condensation;
+    private final CSRGraph dag;
+    private final int[] componentOf;
+    private final int labelCount;
+    // Labels of component c for traversal i sit at c * labelCount + i
+    private final int[] low;
+    private final int[] post;
+    // Row c of the closure is closure[c * words .. (c + 1) * words)
+    private final long[] closure;
+    private final int words;
+    private final boolean useClosure;
+    private final Metrics buildMetrics;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder orderRejected = new LongAdder();
+    private final LongAdder labelRejected = new LongAdder();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchVisited = new LongAdder();
+
+    private ReachabilityIndex(Condensation condensation, int labelCount, int closureThreshold, long seed,
+                              Metrics buildMetrics) {
+        this.condensation = condensation;
+        this.dag = condensation.getDag();
+        this.componentOf = condensation.getComponentOf();
+        this.buildMetrics = buildMetrics;
+
+        int k = dag.getN();
+        int rowWords = (k + 63) >>> 6;
+        this.useClosure = k <= closureThreshold && (long) k * rowWords <= Integer.MAX_VALUE - 8;
+        if (useClosure) {
+            this.labelCount = 0;
+            this.low = new int[0];
+            this.post = new int[0];
+            this.words = rowWords;
+            this.closure = buildClosure(dag, words);
+        } else {
+            this.labelCount = labelCount;
+            this.low = new int[k * labelCount];
+            this.post = new int[k * labelCount];
+            this.words = 0;
+            this.closure = new long[0];
+            int[] roots = roots(dag);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < labelCount; i++) {
+                label(i, roots, random);
+            }
+        }
+    }
+
+    public static ReachabilityIndex build(Graph graph) {
+        return build(graph.toCSR());
+    }
+
+    public static ReachabilityIndex build(GraphView graph) {
+        return build(graph, DEFAULT_LABEL_COUNT, DEFAULT_CLOSURE_THRESHOLD, 42);
+    }
+
+    // closureThreshold is the largest component count that still gets the
+    // bitset closure; pass 0 to always use interval labels
+    public static ReachabilityIndex build(GraphView graph, int labelCount, int closureThreshold, long seed) {
+        if (labelCount < 1) {
+            throw new IllegalArgumentException("Label count must be positive: " + labelCount);
+        }
+        if (closureThreshold < 0) {
+            throw new IllegalArgumentException("Closure threshold must not be negative: " + closureThreshold);
+        }
+        Metrics metrics = new Metrics("ReachabilityIndex");
+        metrics.startTimer();
+        Condensation condensation = new TarjanSCC().condense(graph);
+        ReachabilityIndex index = new ReachabilityIndex(condensation, labelCount, closureThreshold, seed, metrics);
+        metrics.stopTimer();
+
+        metrics.setCounter("components", condensation.getComponentCount());
+        metrics.setCounter("dag_edges", condensation.getDag().getEdgeCount());
+        metrics.setCounter("labels", index.labelCount);
+        metrics.setCounter("closure", index.usesClosure() ? 1 : 0);
+        metrics.setCounter("index_bytes", index.getIndexBytes());
+        metrics.setCounter("memory_bytes", index.getMemoryBytes());
+        return index;
+    }
+
+    // Bit c of row c is set; rows are filled in reverse topological order so
+    // every successor's row is complete before it is merged
+    private static long[] buildClosure(CSRGraph dag, int words) {
+        int k = dag.getN();
+        long[] closure = new long[k * words];
+        for (int c = k - 1; c >= 0; c--) {
+            int row = c * words;
+            closure[row + (c >>> 6)] |= 1L << c;
+            for (int e = dag.edgeStart(c), end = dag.edgeEnd(c); e < end; e++) {
+                int childRow = dag.target(e) * words;
+                // Successors have larger ids, so words before c's own stay empty
+                for (int w = c >>> 6; w < words; w++) {
+                    closure[row + w] |= closure[childRow + w];
+                }
+            }
+        }
+        return closure;
+    }
+
+    // Components without predecessors
+    private static int[] roots(CSRGraph dag) {
+        int k = dag.getN();
+        boolean[] hasPredecessor = new boolean[k];
+        for (int e = 0; e < dag.getEdgeCount(); e++) {
+            hasPredecessor[dag.target(e)] = true;
+        }
+        int[] roots = new int[k];
+        int count = 0;
+        for (int c = 0; c < k; c++) {
+            if (!hasPredecessor[c]) {
+                roots[count++] = c;
+            }
+        }
+        return Arrays.copyOf(roots, count);
+    }
+
+    // One randomized post-order traversal: roots are visited in shuffled
+    // order and each component's children are scanned from a random arc
+    private void label(int traversal, int[] roots, SplittableRandom random) {
+        int k = dag.getN();
+        int rootCount = roots.length;
+        for (int i = rootCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = roots[i];
+            roots[i] = roots[j];
+            roots[j] = tmp;
+        }
+
+        // Ranks start at 1, so low == 0 marks a component not yet entered
+        int[] callStack = new int[k];
+        int[] scanned = new int[k];
+        int[] startArc = new int[k];
+        int rank = 0;
+        for (int r = 0; r < rootCount; r++) {
+            int top = 0;
+            callStack[0] = roots[r];
+            enter(roots[r], traversal, random, scanned, startArc);
+            while (top >= 0) {
+                int c = callStack[top];
+                int slot = c * labelCount + traversal;
+                int degree = dag.outDegree(c);
+                if (scanned[c] < degree) {
+                    int e = dag.edgeStart(c) + (startArc[c] + scanned[c]++) % degree;
+                    int child = dag.target(e);
+                    int childSlot = child * labelCount + traversal;
+                    if (low[childSlot] == 0) {
+                        enter(child, traversal, random, scanned, startArc);
+                        callStack[++top] = child;
+                    } else {
+                        low[slot] = Math.min(low[slot], low[childSlot]);
+                    }
+                } else {
+                    post[slot] = ++rank;
+                    low[slot] = Math.min(low[slot], rank);
+                    top--;
+                    if (top >= 0) {
+                        int parentSlot = callStack[top] * labelCount + traversal;
+                        low[parentSlot] = Math.min(low[parentSlot], low[slot]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void enter(int c, int traversal, SplittableRandom random, int[] scanned, int[] startArc) {
+        // Marks c as on the DFS path: low is provisional until post is set
+        low[c * labelCount + traversal] = Integer.MAX_VALUE;
+        scanned[c] = 0;
+        int degree = dag.outDegree(c);
+        startArc[c] = degree > 1 ? random.nextInt(degree) : 0;
+    }
+
+    public boolean reaches(int u, int v) {
+        return componentReaches(componentOf[u], componentOf[v]);
+    }
+
+    public boolean componentReaches(int from, int to) {
+        if (Metrics.ENABLED) {
+            queries.increment();
+        }
+        if (from == to) {
+            return true;
+        }
+        // Arcs only go from lower ids to higher ones
+        if (from > to) {
+            if (Metrics.ENABLED) {
+                orderRejected.increment();
+            }
+            return false;
+        }
+        if (useClosure) {
+            return (closure[from * words + (to >>> 6)] & (1L << to)) != 0;
+        }
+        if (!contains(from, to)) {
+            if (Metrics.ENABLED) {
+                labelRejected.increment();
+            }
+            return false;
+        }
+        return search(from, to);
+    }
+
+    private boolean contains(int outer, int inner) {
+        int a = outer * labelCount;
+        int b = inner * labelCount;
+        for (int i = 0; i < labelCount; i++) {
+            if (low[b + i] < low[a + i] || post[b + i] > post[a + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // DFS from `from` that only enters components that could still reach `to`
+    private boolean search(int from, int to) {
+        Workspace workspace = WORKSPACE.get().begin(dag.getN());
+        int[] stack = workspace.ints(CALL_STACK);
+        int size = 0;
+        long visited = 0;
+        stack[size++] = from;
+        workspace.mark(from);
+        boolean found = false;
+        search:
+        while (size > 0) {
+            int c = stack[--size];
+            visited++;
+            for (int e = dag.edgeStart(c), end = dag.edgeEnd(c); e < end; e++) {
+                int child = dag.target(e);
+                if (child == to) {
+                    found = true;
+                    break search;
+                }
+                if (child < to && !workspace.isMarked(child) && contains(child, to)) {
+                    workspace.mark(child);
+                    stack[size++] = child;
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            searches.increment();
+            searchVisited.add(visited);
+        }
+        return found;
+    }
+
+    public boolean usesClosure() {
+        return useClosure;
+    }
+
+    public int getLabelCount() {
+        return labelCount;
+    }
+
+    public Condensation getCondensation() {
+        return condensation;
+    }
+
+    public long getBuildTime() {
+        return buildMetrics.getElapsedTime();
+    }
+
+    // Bytes of the labels or the closure alone
+    public long getIndexBytes() {
+        return 4L * low.length + 4L * post.length + 8L * closure.length;
+    }
+
+    // Index plus the vertex-to-component map and the condensation DAG
+    // it searches, array payloads only
+    public long getMemoryBytes() {
+        return getIndexBytes() + 4L * componentOf.length
+                + 4L * (dag.getN() + 1) + 12L * dag.getEdgeCount();
+    }
+
+    // Build time and sizes; fixed once the index exists
+    public Metrics getBuildMetrics() {
+        return buildMetrics;
+    }
+
+    // Snapshot of how queries so far were answered, across all threads
+    public Metrics getQueryMetrics() {
+        Metrics metrics = new Metrics("ReachabilityIndex queries");
+        metrics.setCounter("queries", queries.sum());
+        metrics.setCounter("order_rejected", orderRejected.sum());
+        metrics.setCounter("label_rejected", labelRejected.sum());
+        metrics.setCounter("searches", searches.sum());
+        metrics.setCounter("search_visited", searchVisited.sum());
+        return metrics;
+    }
+
+    // Drops the calling thread's scratch arrays
+    public static void releaseWorkspace() {
+        WORKSPACE.remove();
+    }
+}
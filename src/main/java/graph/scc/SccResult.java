@@ -0,0 +1,153 @@
+package graph.scc;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// SCC decomposition in primitive arrays: component c consists of
+// members[offsets[c] .. offsets[c + 1]), and componentOf maps each vertex
+// back to its component in O(1). Component and member order match what
+// the producing algorithm's findSCCs returns.
+public final class SccResult {
+    private final int[] componentOf;
+    private final int[] offsets;
+    private final int[] members;
+    private volatile List<List<Integer>> lists;
+
+    public SccResult(int[] componentOf, int[] offsets, int[] members) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != members.length
+                || componentOf.length != members.length) {
+            throw new IllegalArgumentException("Inconsistent SCC arrays: " + componentOf.length
+                    + " vertices, " + members.length + " members, " + (offsets.length - 1) + " components");
+        }
+        this.componentOf = componentOf;
+        this.offsets = offsets;
+        this.members = members;
+    }
+
+    // Groups vertices by component id with a counting sort; members of a
+    // component come out in ascending vertex order
+    public static SccResult fromComponentIds(int[] componentOf, int componentCount) {
+        int[] offsets = new int[componentCount + 1];
+        for (int c : componentOf) {
+            offsets[c + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] cursor = Arrays.copyOf(offsets, componentCount);
+        int[] members = new int[componentOf.length];
+        for (int v = 0; v < componentOf.length; v++) {
+            members[cursor[componentOf[v]]++] = v;
+        }
+        return new SccResult(componentOf, offsets, members);
+    }
+
+    public static SccResult fromComponents(int n, List<List<Integer>> components) {
+        int[] componentOf = new int[n];
+        int[] offsets = new int[components.size() + 1];
+        int[] members = new int[n];
+        int size = 0;
+        for (int c = 0; c < components.size(); c++) {
+            for (int v : components.get(c)) {
+                componentOf[v] = c;
+                members[size++] = v;
+            }
+            offsets[c + 1] = size;
+        }
+        return new SccResult(componentOf, offsets, members);
+    }
+
+    public int getVertexCount() { return componentOf.length; }
+    public int getComponentCount() { return offsets.length - 1; }
+    public int getComponentOf(int vertex) { return componentOf[vertex]; }
+    public int[] getComponentOf() { return componentOf; }
+    public int[] getOffsets() { return offsets; }
+    public int[] getMembers() { return members; }
+
+    public int getComponentSize(int component) {
+        return offsets[component + 1] - offsets[component];
+    }
+
+    public int[] getComponent(int component) {
+        return Arrays.copyOfRange(members, offsets[component], offsets[component + 1]);
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    // Same components with ids reversed (c -> k - 1 - c). For Tarjan's reverse
+    // topological emission order this yields topologically sorted ids.
+    public SccResult reversed() {
+        int k = getComponentCount();
+        int n = members.length;
+        int[] reversedOf = new int[n];
+        int[] reversedOffsets = new int[k + 1];
+        int[] reversedMembers = new int[n];
+        int size = 0;
+        for (int c = k - 1; c >= 0; c--) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                reversedOf[members[i]] = k - 1 - c;
+                reversedMembers[size++] = members[i];
+            }
+            reversedOffsets[k - c] = size;
+        }
+        return new SccResult(reversedOf, reversedOffsets, reversedMembers);
+    }
+
+    // Mutable copies, one ArrayList per component, as findSCCs returns them
+    public List<List<Integer>> toLists() {
+        List<List<Integer>> lists = new ArrayList<>(getComponentCount());
+        for (int c = 0; c < getComponentCount(); c++) {
+            List<Integer> component = new ArrayList<>(offsets[c + 1] - offsets[c]);
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                component.add(members[i]);
+            }
+            lists.add(component);
+        }
+        return lists;
+    }
+
+    // Read-only List<List<Integer>> view for code written against findSCCs.
+    // Built on first use; vertices are boxed only as they are read.
+    public List<List<Integer>> asLists() {
+        List<List<Integer>> view = lists;
+        if (view == null) {
+            view = new AbstractList<List<Integer>>() {
+                @Override
+                public List<Integer> get(int component) {
+                    int from = offsets[component];
+                    int size = offsets[component + 1] - from;
+                    return new AbstractList<Integer>() {
+                        @Override
+                        public Integer get(int i) {
+                            if (i < 0 || i >= size) {
+                                throw new IndexOutOfBoundsException("Index " + i + ", size " + size);
+                            }
+                            return members[from + i];
+                        }
+
+                        @Override
+                        public int size() {
+                            return size;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return offsets.length - 1;
+                }
+            };
+            lists = view;
+        }
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return "SccResult(n=" + componentOf.length + ", components=" + getComponentCount() + ")";
+    }
+}
@@ -6,4 +6,18 @@ import java.util.List;
 public interface StronglyConnectedComponents {
     List<List<Integer>> findSCCs(Graph graph);
     Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> sccs);
+
+    // Primitive form of findSCCs, components in findSCCs order with members
+    // ascending. Implementations that work on int arrays override this to
+    // skip the boxed lists.
+    default SccResult decompose(Graph graph) {
+        List<List<Integer>> sccs = findSCCs(graph);
+        int[] componentOf = new int[graph.getN()];
+        for (int c = 0; c < sccs.size(); c++) {
+            for (int v : sccs.get(c)) {
+                componentOf[v] = c;
+            }
+        }
+        return SccResult.fromComponentIds(componentOf, sccs.size());
+    }
 }
\ No newline at end of file
@@ -1,83 +1,241 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
-import graph.model.Edge;
+import graph.model.GraphView;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+import graph.util.Workspace;
 
 import java.util.*;
 
-public class TarjanSCC {
-    private int index;
-    private int[] ids;
-    private int[] low;
-    private boolean[] onStack;
-    private Deque<Integer> stack;
-    private List<List<Integer>> sccs;
-    private Graph graph;
-    private Metrics metrics;
+public class TarjanSCC implements StronglyConnectedComponents {
+    // Scratch arrays reused across calls on the same thread; see Workspace
+    private static final ThreadLocal<Workspace> WORKSPACE = Workspace.perThread(7, 0);
+    private static final int IDS = 0;
+    private static final int LOW = 1;
+    private static final int STACK = 2;
+    private static final int CALL_STACK = 3;
+    private static final int EDGE_CURSOR = 4;
+    private static final int MEMBERS = 5;
+    private static final int COMPONENT_ENDS = 6;
+
+    // All traversal state lives in a per-call Run, so one instance can be
+    // shared between threads
+    private final RunMetrics runMetrics;
+    private final int edgesVisitedSlot;
+    private final int sccsFoundSlot;
+    private final int dfsCallsSlot;
 
     public TarjanSCC() {
-        this.metrics = new Metrics("TarjanSCC");
+        this.runMetrics = new RunMetrics("TarjanSCC");
+        this.edgesVisitedSlot = runMetrics.registerCounter("edges_visited");
+        this.sccsFoundSlot = runMetrics.registerCounter("sccs_found");
+        this.dfsCallsSlot = runMetrics.registerCounter("dfs_calls");
     }
 
     public List<List<Integer>> findSCCs(Graph graph) {
-        metrics.startTimer();
-        this.graph = graph;
-        int n = graph.getN();
-        this.index = 0;
-        this.ids = new int[n];
-        this.low = new int[n];
-        this.onStack = new boolean[n];
-        this.stack = new ArrayDeque<>();
-        this.sccs = new ArrayList<>();
+        return findSCCs(graph.toCSR());
+    }
 
-        Arrays.fill(ids, -1);
+    // Mutable lists the caller may sort or edit; decompose(graph).asLists()
+    // is the read-only view that boxes vertices only when read
+    public List<List<Integer>> findSCCs(GraphView graph) {
+        return decompose(graph).toLists();
+    }
 
+    @Override
+    public SccResult decompose(Graph graph) {
+        return decompose(graph.toCSR());
+    }
+
+    // Components in reverse topological order of the condensation
+    public SccResult decompose(GraphView graph) {
+        int n = graph.getN();
+        Run run = new Run(graph);
         for (int i = 0; i < n; i++) {
-            if (ids[i] == -1) {
-                dfs(i);
+            if (!run.workspace.isMarked(i)) {
+                run.dfs(i);
             }
         }
 
-        metrics.stopTimer();
+        int k = run.componentCount;
+        int[] offsets = new int[k + 1];
+        System.arraycopy(run.componentEnds, 0, offsets, 1, k);
+        int[] members = Arrays.copyOf(run.members, n);
+        int[] componentOf = new int[n];
+        for (int c = 0; c < k; c++) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                componentOf[members[i]] = c;
+            }
+        }
+        run.metrics.stopTimer();
+        return new SccResult(componentOf, offsets, members);
+    }
+
+    // SCCs of the subgraph reachable from source, in reverse topological
+    // order. Only reachable vertices are touched, so repeated queries on a
+    // large graph cost O(reachable part) rather than O(n).
+    public List<List<Integer>> findSCCsFrom(GraphView graph, int source) {
+        Run run = new Run(graph);
+        run.dfs(source);
+        List<List<Integer>> sccs = new ArrayList<>(run.componentCount);
+        int from = 0;
+        for (int c = 0; c < run.componentCount; c++) {
+            List<Integer> scc = new ArrayList<>(run.componentEnds[c] - from);
+            for (int i = from; i < run.componentEnds[c]; i++) {
+                scc.add(run.members[i]);
+            }
+            sccs.add(scc);
+            from = run.componentEnds[c];
+        }
+        run.metrics.stopTimer();
         return sccs;
     }
 
-    private void dfs(int at) {
-        metrics.incrementCounter("dfs_calls");
-        ids[at] = low[at] = index++;
-        stack.push(at);
-        onStack[at] = true;
-
-        for (Edge edge : graph.getNeighbors(at)) {
-            metrics.incrementCounter("edges_visited");
-            int to = edge.getV();
-            if (ids[to] == -1) {
-                dfs(to);
-                low[at] = Math.min(low[at], low[to]);
-            } else if (onStack[to]) {
-                low[at] = Math.min(low[at], ids[to]);
+    private final class Run {
+        final GraphView graph;
+        final Metrics metrics;
+        final Workspace workspace;
+        final int[] ids;
+        final int[] low;
+        final int[] stack;
+        final int[] callStack;
+        final int[] edgeCursor;
+        // Finished SCCs: members in emission order, and where each one ends
+        final int[] members;
+        final int[] componentEnds;
+        int index;
+        int stackSize;
+        int memberCount;
+        int componentCount;
+
+        Run(GraphView graph) {
+            this.graph = graph;
+            this.metrics = runMetrics.start();
+            this.workspace = WORKSPACE.get().begin(graph.getN());
+            this.ids = workspace.ints(IDS);
+            this.low = workspace.ints(LOW);
+            this.stack = workspace.ints(STACK);
+            this.callStack = workspace.ints(CALL_STACK);
+            this.edgeCursor = workspace.ints(EDGE_CURSOR);
+            this.members = workspace.ints(MEMBERS);
+            this.componentEnds = workspace.ints(COMPONENT_ENDS);
+        }
+
+        // Explicit-stack DFS: callStack holds the current DFS path and edgeCursor
+        // the next arc to explore for each vertex on it, so depth is bounded by
+        // the heap rather than the thread stack. Vertices already assigned to an
+        // SCC get ids = MAX_VALUE, which makes them neutral in the low-link
+        // update and replaces an onStack array.
+        void dfs(int root) {
+            int top = 0;
+            callStack[0] = root;
+            visit(root);
+
+            while (top >= 0) {
+                int at = callStack[top];
+                if (edgeCursor[at] < graph.edgeEnd(at)) {
+                    int e = edgeCursor[at]++;
+                    metrics.increment(edgesVisitedSlot);
+                    int to = graph.target(e);
+                    if (!workspace.isMarked(to)) {
+                        visit(to);
+                        callStack[++top] = to;
+                    } else {
+                        low[at] = Math.min(low[at], ids[to]);
+                    }
+                    continue;
+                }
+
+                if (ids[at] == low[at]) {
+                    while (stackSize > 0) {
+                        int node = stack[--stackSize];
+                        ids[node] = Integer.MAX_VALUE;
+                        members[memberCount++] = node;
+                        if (node == at) break;
+                    }
+                    componentEnds[componentCount++] = memberCount;
+                    metrics.increment(sccsFoundSlot);
+                }
+
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    low[parent] = Math.min(low[parent], low[at]);
+                }
             }
         }
 
-        if (ids[at] == low[at]) {
-            List<Integer> scc = new ArrayList<>();
-            while (!stack.isEmpty()) {
-                int node = stack.pop();
-                onStack[node] = false;
-                scc.add(node);
-                if (node == at) break;
+        void visit(int at) {
+            metrics.increment(dfsCallsSlot);
+            workspace.mark(at);
+            ids[at] = low[at] = index++;
+            stack[stackSize++] = at;
+            edgeCursor[at] = graph.edgeStart(at);
+        }
+    }
+
+    public Condensation condense(Graph graph) {
+        return condense(graph.toCSR());
+    }
+
+    // Tarjan emits SCCs in reverse topological order of the condensation, so
+    // numbering them backwards yields topologically sorted component ids and
+    // no separate topological sort of the condensation is needed.
+    public Condensation condense(GraphView graph) {
+        int n = graph.getN();
+        SccResult components = decompose(graph).reversed();
+        int[] componentOf = components.getComponentOf();
+        int k = components.getComponentCount();
+
+        // Count cross-component arcs, then scatter them into CSR arrays
+        int[] offsets = new int[k + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                if (componentOf[u] != componentOf[graph.target(e)]) {
+                    offsets[componentOf[u] + 1]++;
+                }
             }
-            sccs.add(scc);
-            metrics.incrementCounter("sccs_found");
         }
+        for (int c = 0; c < k; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, k);
+        int[] targets = new int[offsets[k]];
+        double[] weights = new double[offsets[k]];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int compV = componentOf[graph.target(e)];
+                if (componentOf[u] != compV) {
+                    int pos = cursor[componentOf[u]]++;
+                    targets[pos] = compV;
+                    weights[pos] = graph.weight(e);
+                }
+            }
+        }
+
+        return new Condensation(components, new CSRGraph(k, true, offsets, targets, weights));
     }
 
+    // Same as condense, but parallel inter-component arcs are merged by the builder's policy
+    public Condensation condense(GraphView graph, CondensationBuilder builder) {
+        SccResult components = decompose(graph).reversed();
+        CSRGraph dag = builder.build(graph, components.getComponentOf(), components.getComponentCount());
+        return new Condensation(components, dag);
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
     }
 
     public Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> sccs) {
+        return buildCondensationGraph(originalGraph.toCSR(), sccs);
+    }
+
+    public Graph buildCondensationGraph(GraphView originalGraph, List<List<Integer>> sccs) {
         int numComponents = sccs.size();
         Graph condensation = new Graph(numComponents, true);
 
@@ -91,16 +249,35 @@ public class TarjanSCC {
 
         // Add edges between components
         for (int u = 0; u < originalGraph.getN(); u++) {
-            for (Edge edge : originalGraph.getNeighbors(u)) {
-                int v = edge.getV();
+            for (int e = originalGraph.edgeStart(u), end = originalGraph.edgeEnd(u); e < end; e++) {
+                int v = originalGraph.target(e);
                 int compU = componentId[u];
                 int compV = componentId[v];
                 if (compU != compV) {
-                    condensation.addEdge(compU, compV, edge.getWeight());
+                    condensation.addEdge(compU, compV, originalGraph.weight(e));
                 }
             }
         }
 
         return condensation;
     }
-}
\ No newline at end of file
+
+    public Graph buildCondensationGraph(GraphView originalGraph, SccResult sccs) {
+        int[] componentId = sccs.getComponentOf();
+        Graph condensation = new Graph(sccs.getComponentCount(), true);
+        for (int u = 0; u < originalGraph.getN(); u++) {
+            for (int e = originalGraph.edgeStart(u), end = originalGraph.edgeEnd(u); e < end; e++) {
+                int compV = componentId[originalGraph.target(e)];
+                if (componentId[u] != compV) {
+                    condensation.addEdge(componentId[u], compV, originalGraph.weight(e));
+                }
+            }
+        }
+        return condensation;
+    }
+
+    // Drops the calling thread's scratch arrays
+    public static void releaseWorkspace() {
+        WORKSPACE.remove();
+    }
+}
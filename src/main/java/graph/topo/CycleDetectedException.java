@@ -0,0 +1,23 @@
+package graph.topo;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Thrown when an arc would close a cycle. The cycle lists its vertices in
+// order: each has an arc to the next, and the last one back to the first.
+public class CycleDetectedException extends IllegalArgumentException {
+    private final int[] cycle;
+
+    public CycleDetectedException(int[] cycle) {
+        super("Edge would create a cycle: " + Arrays.toString(cycle));
+        this.cycle = cycle.clone();
+    }
+
+    public List<Integer> getCycle() {
+        Integer[] boxed = new Integer[cycle.length];
+        for (int i = 0; i < cycle.length; i++) {
+            boxed[i] = cycle[i];
+        }
+        return Arrays.asList(boxed);
+    }
+}
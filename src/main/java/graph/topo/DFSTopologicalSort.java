@@ -1,57 +1,123 @@
 package graph.topo;
 
 import graph.model.Graph;
-import graph.model.Edge;
+import graph.model.GraphView;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+import graph.util.Workspace;
 
 import java.util.*;
 
 public class DFSTopologicalSort {
-    private Metrics metrics;
+    // Scratch arrays reused across calls on the same thread; see Workspace
+    private static final ThreadLocal<Workspace> WORKSPACE = Workspace.perThread(3, 0);
+    private static final int CALL_STACK = 0;
+    private static final int EDGE_CURSOR = 1;
+    private static final int POSTORDER = 2;
+
+    private final RunMetrics runMetrics;
+    private final int dfsCallsSlot;
+    private final int edgesVisitedSlot;
+    private final int stackOperationsSlot;
 
     public DFSTopologicalSort() {
-        this.metrics = new Metrics("DFSTopologicalSort");
+        this.runMetrics = new RunMetrics("DFSTopologicalSort");
+        this.dfsCallsSlot = runMetrics.registerCounter("dfs_calls");
+        this.edgesVisitedSlot = runMetrics.registerCounter("edges_visited");
+        this.stackOperationsSlot = runMetrics.registerCounter("stack_operations");
     }
 
     public List<Integer> topologicalSort(Graph graph) {
-        metrics.startTimer();
+        return topologicalSort(graph.toCSR());
+    }
 
-        int n = graph.getN();
-        boolean[] visited = new boolean[n];
-        Stack<Integer> stack = new Stack<>();
+    public List<Integer> topologicalSort(GraphView graph) {
+        int[] order = topologicalOrder(graph);
+        List<Integer> result = new ArrayList<>(order.length);
+        for (int node : order) {
+            result.add(node);
+        }
+        return result;
+    }
 
+    // Reverse postorder of a DFS over all vertices
+    public int[] topologicalOrder(GraphView graph) {
+        Metrics metrics = runMetrics.start();
+        int n = graph.getN();
+        Workspace workspace = WORKSPACE.get().begin(n);
+        int count = 0;
         for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                dfs(graph, i, visited, stack);
+            if (!workspace.isMarked(i)) {
+                count = dfs(metrics, graph, i, workspace, count);
             }
         }
+        int[] order = reversedPostorder(workspace, count);
+        metrics.stopTimer();
+        return order;
+    }
 
-        List<Integer> result = new ArrayList<>();
-        while (!stack.isEmpty()) {
-            result.add(stack.pop());
-        }
-
+    // Topological order of the sub-DAG reachable from source, touching only
+    // that part of the graph
+    public int[] topologicalOrderFrom(GraphView graph, int source) {
+        Metrics metrics = runMetrics.start();
+        Workspace workspace = WORKSPACE.get().begin(graph.getN());
+        int count = dfs(metrics, graph, source, workspace, 0);
+        int[] order = reversedPostorder(workspace, count);
         metrics.stopTimer();
-        return result;
+        return order;
     }
 
-    private void dfs(Graph graph, int node, boolean[] visited, Stack<Integer> stack) {
-        metrics.incrementCounter("dfs_calls");
-        visited[node] = true;
+    // Iterative DFS appending finished vertices to the postorder scratch
+    // array; returns the new postorder length
+    private int dfs(Metrics metrics, GraphView graph, int root, Workspace workspace, int count) {
+        int[] callStack = workspace.ints(CALL_STACK);
+        int[] edgeCursor = workspace.ints(EDGE_CURSOR);
+        int[] postorder = workspace.ints(POSTORDER);
+        int top = 0;
+        callStack[0] = root;
+        visit(metrics, graph, root, workspace, edgeCursor);
 
-        for (Edge edge : graph.getNeighbors(node)) {
-            metrics.incrementCounter("edges_visited");
-            int neighbor = edge.getV();
-            if (!visited[neighbor]) {
-                dfs(graph, neighbor, visited, stack);
+        while (top >= 0) {
+            int node = callStack[top];
+            if (edgeCursor[node] < graph.edgeEnd(node)) {
+                int e = edgeCursor[node]++;
+                metrics.increment(edgesVisitedSlot);
+                int neighbor = graph.target(e);
+                if (!workspace.isMarked(neighbor)) {
+                    visit(metrics, graph, neighbor, workspace, edgeCursor);
+                    callStack[++top] = neighbor;
+                }
+            } else {
+                postorder[count++] = node;
+                metrics.increment(stackOperationsSlot);
+                top--;
             }
         }
+        return count;
+    }
 
-        stack.push(node);
-        metrics.incrementCounter("stack_operations");
+    private void visit(Metrics metrics, GraphView graph, int node, Workspace workspace, int[] edgeCursor) {
+        metrics.increment(dfsCallsSlot);
+        workspace.mark(node);
+        edgeCursor[node] = graph.edgeStart(node);
     }
 
+    private static int[] reversedPostorder(Workspace workspace, int count) {
+        int[] postorder = workspace.ints(POSTORDER);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = postorder[count - 1 - i];
+        }
+        return order;
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
+    }
+
+    // Drops the calling thread's scratch arrays
+    public static void releaseWorkspace() {
+        WORKSPACE.remove();
     }
-}
\ No newline at end of file
+}
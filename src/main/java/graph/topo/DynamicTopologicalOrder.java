@@ -0,0 +1,160 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.metrics.Metrics;
+
+// Topological order of a DAG kept valid while arcs are added (Pearce-Kelly).
+// An arc u -> v with u already before v costs O(1). Otherwise only vertices
+// positioned between v and u can be affected: those reachable from v and
+// those reaching u inside that window are searched, and their positions are
+// reassigned so the second group comes first. Reaching u from v means the arc
+// closes a cycle; it is rejected with the cycle as witness and the structure
+// is left unchanged.
+//
+// Not thread-safe.
+public class DynamicTopologicalOrder {
+    private final int n;
+    private final PearceKellyOrder order;
+    private int edgeCount;
+
+    private final Metrics metrics;
+    private final int edgesInsertedSlot;
+    private final int reordersSlot;
+    private final int regionVisitedSlot;
+    private final int cyclesRejectedSlot;
+
+    public DynamicTopologicalOrder(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative: " + n);
+        }
+        this.n = n;
+        this.order = new PearceKellyOrder(n, null);
+
+        this.metrics = new Metrics("DynamicTopologicalOrder");
+        this.edgesInsertedSlot = metrics.registerCounter("edges_inserted");
+        this.reordersSlot = metrics.registerCounter("reorders");
+        this.regionVisitedSlot = metrics.registerCounter("region_visited");
+        this.cyclesRejectedSlot = metrics.registerCounter("cycles_rejected");
+    }
+
+    // Starts from an existing DAG
+    public DynamicTopologicalOrder(Graph graph) {
+        this(graph.toCSR());
+    }
+
+    // Ids that are already topologically ordered are kept as the order: ids
+    // handed out in creation order tend to keep dependent vertices close, so
+    // later reorder regions stay small. Any other DAG is ordered with Kahn,
+    // which throws if the graph has a cycle.
+    public DynamicTopologicalOrder(GraphView graph) {
+        this(graph.getN());
+        if (!idsAreOrdered(graph)) {
+            int[] sorted = new KahnTopologicalSort().topologicalOrder(graph);
+            for (int i = 0; i < n; i++) {
+                order.place(sorted[i], i);
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                append(u, graph.target(e), graph.weight(e));
+            }
+        }
+    }
+
+    private static boolean idsAreOrdered(GraphView graph) {
+        for (int u = 0; u < graph.getN(); u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                if (graph.target(e) <= u) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void addEdge(int u, int v, double weight) {
+        validateVertex(u);
+        validateVertex(v);
+        if (u == v) {
+            metrics.increment(cyclesRejectedSlot);
+            throw new CycleDetectedException(new int[]{u});
+        }
+        if (order.position(u) > order.position(v)) {
+            reorder(u, v);
+        }
+        append(u, v, weight);
+        metrics.increment(edgesInsertedSlot);
+    }
+
+    // Arc u -> v with v placed before u. Only vertices positioned in
+    // [ord[v], ord[u]] can lie on a path between them; if v reaches u the arc
+    // is rejected before anything moves.
+    private void reorder(int u, int v) {
+        metrics.increment(reordersSlot);
+        boolean cycle = order.search(u, v);
+        metrics.add(regionVisitedSlot, order.regionSize());
+        if (cycle) {
+            metrics.increment(cyclesRejectedSlot);
+            throw new CycleDetectedException(order.witness(u, v));
+        }
+        order.reassign(-1);
+    }
+
+    private void append(int u, int v, double weight) {
+        order.appendOut(u, v, weight);
+        order.appendIn(v, u);
+        edgeCount++;
+    }
+
+    // Current order as a fresh array, ready for DAGShortestPath and PreparedDAG
+    public int[] getOrder() {
+        int[] vertices = new int[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = order.nodeAt(i);
+        }
+        return vertices;
+    }
+
+    public int getPosition(int v) {
+        validateVertex(v);
+        return order.position(v);
+    }
+
+    public boolean precedes(int u, int v) {
+        return getPosition(u) < getPosition(v);
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    // CSR snapshot of the arcs added so far, in insertion order per vertex
+    public CSRGraph toCSR() {
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + order.outDegree(u);
+        }
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int u = 0; u < n; u++) {
+            order.copyOut(u, targets, weights, offsets[u]);
+        }
+        return new CSRGraph(n, true, offsets, targets, weights);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " is not in graph [0," + (n - 1) + "]");
+        }
+    }
+}
@@ -1,66 +1,86 @@
 package graph.topo;
 
 import graph.model.Graph;
-import graph.model.Edge;
+import graph.model.GraphView;
 import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
 
 import java.util.*;
 
 public class KahnTopologicalSort {
-    private Metrics metrics;
+    private final RunMetrics runMetrics;
+    private final int edgesProcessedSlot;
+    private final int queueOperationsSlot;
 
     public KahnTopologicalSort() {
-        this.metrics = new Metrics("KahnTopologicalSort");
+        this.runMetrics = new RunMetrics("KahnTopologicalSort");
+        this.edgesProcessedSlot = runMetrics.registerCounter("edges_processed");
+        this.queueOperationsSlot = runMetrics.registerCounter("queue_operations");
     }
 
     public List<Integer> topologicalSort(Graph graph) {
-        metrics.startTimer();
+        return topologicalSort(graph.toCSR());
+    }
+
+    public List<Integer> topologicalSort(GraphView graph) {
+        int[] order = topologicalOrder(graph);
+        List<Integer> result = new ArrayList<>(order.length);
+        for (int node : order) {
+            result.add(node);
+        }
+        return result;
+    }
+
+    public int[] topologicalOrder(GraphView graph) {
+        Metrics metrics = runMetrics.start();
 
         int n = graph.getN();
         int[] inDegree = new int[n];
 
         // Calculate in-degree for each vertex
         for (int i = 0; i < n; i++) {
-            for (Edge edge : graph.getNeighbors(i)) {
-                inDegree[edge.getV()]++;
-                metrics.incrementCounter("edges_processed");
+            for (int e = graph.edgeStart(i), end = graph.edgeEnd(i); e < end; e++) {
+                inDegree[graph.target(e)]++;
+                metrics.increment(edgesProcessedSlot);
             }
         }
 
-        Queue<Integer> queue = new LinkedList<>();
+        // The result array doubles as the FIFO queue: [head, tail) is pending
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                queue.offer(i);
-                metrics.incrementCounter("queue_operations");
+                order[tail++] = i;
+                metrics.increment(queueOperationsSlot);
             }
         }
 
-        List<Integer> result = new ArrayList<>();
-        while (!queue.isEmpty()) {
-            int node = queue.poll();
-            metrics.incrementCounter("queue_operations");
-            result.add(node);
+        while (head < tail) {
+            int node = order[head++];
+            metrics.increment(queueOperationsSlot);
 
-            for (Edge edge : graph.getNeighbors(node)) {
-                int neighbor = edge.getV();
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                int neighbor = graph.target(e);
                 inDegree[neighbor]--;
                 if (inDegree[neighbor] == 0) {
-                    queue.offer(neighbor);
-                    metrics.incrementCounter("queue_operations");
+                    order[tail++] = neighbor;
+                    metrics.increment(queueOperationsSlot);
                 }
             }
         }
 
         // Check for cycles
-        if (result.size() != n) {
+        if (tail != n) {
             throw new IllegalArgumentException("Graph has cycles, cannot perform topological sort");
         }
 
         metrics.stopTimer();
-        return result;
+        return order;
     }
 
+    // Metrics of the calling thread's most recent run on this instance
     public Metrics getMetrics() {
-        return metrics;
+        return runMetrics.getLast();
     }
-}
\ No newline at end of file
+}
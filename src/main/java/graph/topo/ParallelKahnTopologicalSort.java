@@ -0,0 +1,219 @@
+package graph.topo;
+
+import graph.model.Graph;
+import graph.model.GraphView;
+import graph.metrics.Metrics;
+import graph.metrics.RunMetrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// Level-synchronous Kahn: level 0 holds the sources, level i + 1 the vertices
+// whose last predecessor is in level i. Vertices of one level never depend on
+// each other, so they can be scheduled concurrently. Each level is expanded
+// in parallel with atomic in-degree decrements; the thread that takes a
+// vertex to zero appends it to the next level.
+public class ParallelKahnTopologicalSort {
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 2048;
+    private static final int MIN_CHUNK = 512;
+
+    private final int parallelism;
+    private final int sequentialThreshold;
+    private final RunMetrics runMetrics;
+    private final int edgesProcessedSlot;
+    private final int levelsSlot;
+    private final int parallelLevelsSlot;
+
+    public ParallelKahnTopologicalSort() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelKahnTopologicalSort(int parallelism) {
+        this(parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    // Levels with fewer vertices than sequentialThreshold are expanded on the
+    // calling thread, so long chains do not pay a fork/join per level
+    public ParallelKahnTopologicalSort(int parallelism, int sequentialThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be positive: " + sequentialThreshold);
+        }
+        this.parallelism = parallelism;
+        this.sequentialThreshold = sequentialThreshold;
+        this.runMetrics = new RunMetrics("ParallelKahnTopologicalSort");
+        this.edgesProcessedSlot = runMetrics.registerCounter("edges_processed");
+        this.levelsSlot = runMetrics.registerCounter("levels");
+        this.parallelLevelsSlot = runMetrics.registerCounter("parallel_levels");
+    }
+
+    public LevelOrder sort(Graph graph) {
+        return sort(graph.toCSR());
+    }
+
+    public LevelOrder sort(GraphView graph) {
+        Metrics metrics = runMetrics.start();
+        int n = graph.getN();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        int[] order = new int[n];
+        int[] offsets = new int[n + 1];
+        int levels = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int chunks = Math.max(1, Math.min(n, parallelism * 4));
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                for (int u = (int) ((long) n * c / chunks), end = (int) ((long) n * (c + 1) / chunks); u < end; u++) {
+                    for (int e = graph.edgeStart(u), edgeEnd = graph.edgeEnd(u); e < edgeEnd; e++) {
+                        inDegree.incrementAndGet(graph.target(e));
+                    }
+                }
+            })).join();
+
+            int tail = 0;
+            for (int u = 0; u < n; u++) {
+                if (inDegree.get(u) == 0) {
+                    order[tail++] = u;
+                }
+            }
+
+            AtomicInteger cursor = new AtomicInteger(tail);
+            int head = 0;
+            while (head < tail) {
+                offsets[levels++] = head;
+                long edges;
+                if (tail - head < sequentialThreshold) {
+                    edges = expandSequential(graph, inDegree, order, head, tail, cursor);
+                } else {
+                    edges = expandParallel(pool, graph, inDegree, order, head, tail, cursor);
+                    metrics.increment(parallelLevelsSlot);
+                }
+                metrics.add(edgesProcessedSlot, edges);
+                head = tail;
+                tail = cursor.get();
+                // Appends race within a level; sorting keeps the result deterministic
+                Arrays.sort(order, head, tail);
+            }
+            offsets[levels] = tail;
+            metrics.add(levelsSlot, levels);
+
+            if (tail != n) {
+                throw new IllegalArgumentException("Graph has cycles, cannot perform topological sort");
+            }
+        } finally {
+            pool.shutdown();
+            metrics.stopTimer();
+        }
+        return new LevelOrder(order, Arrays.copyOf(offsets, levels + 1));
+    }
+
+    private static long expandSequential(GraphView graph, AtomicIntegerArray inDegree, int[] order,
+                                         int from, int to, AtomicInteger cursor) {
+        int tail = cursor.get();
+        long edges = 0;
+        for (int i = from; i < to; i++) {
+            int u = order[i];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                if (inDegree.decrementAndGet(v) == 0) {
+                    order[tail++] = v;
+                }
+            }
+            edges += graph.outDegree(u);
+        }
+        cursor.set(tail);
+        return edges;
+    }
+
+    // Each chunk gathers its newly freed vertices locally, then reserves a
+    // contiguous slice of `order` with one getAndAdd on the shared cursor
+    private long expandParallel(ForkJoinPool pool, GraphView graph, AtomicIntegerArray inDegree, int[] order,
+                                int from, int to, AtomicInteger cursor) {
+        int size = to - from;
+        int chunks = Math.max(1, Math.min(parallelism * 4, size / MIN_CHUNK));
+        long[] edges = new long[chunks];
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int start = from + (int) ((long) size * c / chunks);
+            int end = from + (int) ((long) size * (c + 1) / chunks);
+            int[] freed = new int[16];
+            int count = 0;
+            long visited = 0;
+            for (int i = start; i < end; i++) {
+                int u = order[i];
+                for (int e = graph.edgeStart(u), edgeEnd = graph.edgeEnd(u); e < edgeEnd; e++) {
+                    int v = graph.target(e);
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        if (count == freed.length) {
+                            freed = Arrays.copyOf(freed, count * 2);
+                        }
+                        freed[count++] = v;
+                    }
+                }
+                visited += graph.outDegree(u);
+            }
+            System.arraycopy(freed, 0, order, cursor.getAndAdd(count), count);
+            edges[c] = visited;
+        })).join();
+
+        long total = 0;
+        for (long chunkEdges : edges) {
+            total += chunkEdges;
+        }
+        return total;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // Metrics of the calling thread's most recent run on this instance
+    public Metrics getMetrics() {
+        return runMetrics.getLast();
+    }
+
+    // Flat topological order plus level boundaries: level i is
+    // order[levelOffsets[i] .. levelOffsets[i + 1]), sorted by vertex id
+    public static class LevelOrder {
+        private final int[] order;
+        private final int[] levelOffsets;
+
+        LevelOrder(int[] order, int[] levelOffsets) {
+            this.order = order;
+            this.levelOffsets = levelOffsets;
+        }
+
+        public int[] getOrder() {
+            return order;
+        }
+
+        public int[] getLevelOffsets() {
+            return levelOffsets;
+        }
+
+        public int getLevelCount() {
+            return levelOffsets.length - 1;
+        }
+
+        public int[] getLevel(int level) {
+            return Arrays.copyOfRange(order, levelOffsets[level], levelOffsets[level + 1]);
+        }
+
+        public int getLevelSize(int level) {
+            return levelOffsets[level + 1] - levelOffsets[level];
+        }
+
+        // Size of the widest level, i.e. the most tasks that can run at once
+        public int getMaxWidth() {
+            int max = 0;
+            for (int level = 0; level < getLevelCount(); level++) {
+                max = Math.max(max, getLevelSize(level));
+            }
+            return max;
+        }
+    }
+}
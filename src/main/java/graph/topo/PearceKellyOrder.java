@@ -0,0 +1,298 @@
+package graph.topo;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+// The Pearce-Kelly core shared by DynamicTopologicalOrder and
+// IncrementalSCC: a topological order over nodes [0, n) with per-node arc
+// lists, and the reorder step for an arc u -> v that points backwards.
+// search(u, v) looks for the nodes reachable from v and those reaching u
+// among positions [ord[v], ord[u]]; the two sets meet exactly when the arc
+// closes a cycle. The caller either rejects the arc or collapses the cycle
+// into one node, then reassign() gives the affected nodes new positions.
+//
+// Arcs store endpoint ids, which `resolve` maps to the node currently
+// holding them, e.g. a union-find representative. Positions may be left
+// empty (-1) when nodes merge. Not thread-safe.
+public final class PearceKellyOrder {
+    private final int n;
+    private final IntUnaryOperator resolve;
+    // ord[x] is node x's position, at[position] the node there or -1
+    private final int[] ord;
+    private final int[] at;
+    private final int[][] outTargets;
+    private final double[][] outWeights;
+    private final int[] outSize;
+    private final int[][] inSources;
+    private final int[] inSize;
+
+    // Scratch for one reorder, stamped instead of cleared; parent is the
+    // forward search tree
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private final int[] parent;
+    private final int[] stack;
+    private final int[] forward;
+    private final int[] backward;
+    private final int[] positions;
+    private int forwardCount;
+    private int backwardCount;
+    private int positionCount;
+    private int epoch;
+
+    // Identity order; resolve may be null when every endpoint is its own node
+    public PearceKellyOrder(int n, IntUnaryOperator resolve) {
+        this.n = n;
+        this.resolve = resolve;
+        this.ord = new int[n];
+        this.at = new int[n];
+        this.outTargets = new int[n][];
+        this.outWeights = new double[n][];
+        this.outSize = new int[n];
+        this.inSources = new int[n][];
+        this.inSize = new int[n];
+        this.forwardStamp = new int[n];
+        this.backwardStamp = new int[n];
+        this.parent = new int[n];
+        this.stack = new int[n];
+        this.forward = new int[n];
+        this.backward = new int[n];
+        this.positions = new int[n];
+        for (int x = 0; x < n; x++) {
+            ord[x] = x;
+            at[x] = x;
+        }
+    }
+
+    // Arc u -> v with ord[v] < ord[u]. Searches forwards from v and backwards
+    // from u, both limited to positions [ord[v], ord[u]], and returns whether
+    // v reaches u. Nothing is moved yet.
+    public boolean search(int u, int v) {
+        int lower = ord[v];
+        int upper = ord[u];
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(forwardStamp, 0);
+            Arrays.fill(backwardStamp, 0);
+            epoch = 1;
+        }
+        forwardCount = search(v, lower, upper, true, forward);
+        backwardCount = search(u, lower, upper, false, backward);
+
+        // Positions held by the affected nodes, in ascending order
+        positionCount = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            positions[positionCount++] = ord[backward[i]];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            if (backwardStamp[forward[i]] != epoch) {
+                positions[positionCount++] = ord[forward[i]];
+            }
+        }
+        Arrays.sort(positions, 0, positionCount);
+        sortByOrder(forward, forwardCount);
+        sortByOrder(backward, backwardCount);
+        return forwardStamp[u] == epoch;
+    }
+
+    // DFS over arcs (forward) or reversed arcs (backward); visited nodes go to `found`
+    private int search(int start, int lower, int upper, boolean forwards, int[] found) {
+        int[] stamp = forwards ? forwardStamp : backwardStamp;
+        int count = 0;
+        int top = 0;
+        stack[top++] = start;
+        stamp[start] = epoch;
+        while (top > 0) {
+            int x = stack[--top];
+            found[count++] = x;
+            int[] arcs = forwards ? outTargets[x] : inSources[x];
+            int arcCount = forwards ? outSize[x] : inSize[x];
+            for (int i = 0; i < arcCount; i++) {
+                int y = resolve(arcs[i]);
+                if (stamp[y] != epoch && ord[y] >= lower && ord[y] <= upper) {
+                    stamp[y] = epoch;
+                    if (forwards) {
+                        parent[y] = x;
+                    }
+                    stack[top++] = y;
+                }
+            }
+        }
+        return count;
+    }
+
+    // After search(u, v) returned true: the cycle u -> v -> ... -> u along
+    // the forward search tree
+    public int[] witness(int u, int v) {
+        int length = 1;
+        for (int x = parent[u]; x != v; x = parent[x]) {
+            length++;
+        }
+        int[] cycle = new int[length + 1];
+        cycle[0] = u;
+        int i = length;
+        for (int x = parent[u]; x != v; x = parent[x]) {
+            cycle[i--] = x;
+        }
+        cycle[1] = v;
+        return cycle;
+    }
+
+    // After search(u, v) returned true: folds every node on both sides into
+    // one with `union`, starting from u, and returns the surviving node
+    public int collapse(int u, IntBinaryOperator union) {
+        int merged = u;
+        for (int i = 0; i < forwardCount; i++) {
+            int x = forward[i];
+            if (backwardStamp[x] == epoch && x != u) {
+                merged = union.applyAsInt(merged, x);
+            }
+        }
+        return merged;
+    }
+
+    // New order for the nodes of the last search: reaching u only, then the
+    // collapsed cycle (merged, or -1 if there is none), then reachable from v
+    // only. The first group takes the lowest positions and the last the
+    // highest, so no node moves past an unaffected neighbour; positions freed
+    // by a merge become gaps in the middle.
+    public void reassign(int merged) {
+        int next = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            int x = backward[i];
+            if (forwardStamp[x] != epoch) {
+                place(x, positions[next++]);
+            }
+        }
+        if (merged >= 0) {
+            place(merged, positions[next++]);
+        }
+        int last = positionCount;
+        for (int i = forwardCount - 1; i >= 0; i--) {
+            int x = forward[i];
+            if (backwardStamp[x] != epoch) {
+                place(x, positions[--last]);
+            }
+        }
+        while (next < last) {
+            at[positions[next++]] = -1;
+        }
+    }
+
+    // Nodes visited by the last search, counting one in both sets twice
+    public int regionSize() {
+        return forwardCount + backwardCount;
+    }
+
+    private void sortByOrder(int[] nodes, int count) {
+        for (int i = 0; i < count; i++) {
+            nodes[i] = ord[nodes[i]];
+        }
+        Arrays.sort(nodes, 0, count);
+        for (int i = 0; i < count; i++) {
+            nodes[i] = at[nodes[i]];
+        }
+    }
+
+    private int resolve(int endpoint) {
+        return resolve == null ? endpoint : resolve.applyAsInt(endpoint);
+    }
+
+    public int position(int node) {
+        return ord[node];
+    }
+
+    // Node at a position, or -1 for a gap
+    public int nodeAt(int position) {
+        return at[position];
+    }
+
+    public void place(int node, int position) {
+        ord[node] = position;
+        at[position] = node;
+    }
+
+    public void clear(int position) {
+        at[position] = -1;
+    }
+
+    public void appendOut(int node, int target, double weight) {
+        if (outTargets[node] == null) {
+            outTargets[node] = new int[4];
+            outWeights[node] = new double[4];
+        } else if (outSize[node] == outTargets[node].length) {
+            outTargets[node] = Arrays.copyOf(outTargets[node], outSize[node] * 2);
+            outWeights[node] = Arrays.copyOf(outWeights[node], outSize[node] * 2);
+        }
+        outTargets[node][outSize[node]] = target;
+        outWeights[node][outSize[node]++] = weight;
+    }
+
+    public void appendIn(int node, int source) {
+        if (inSources[node] == null) {
+            inSources[node] = new int[4];
+        } else if (inSize[node] == inSources[node].length) {
+            inSources[node] = Arrays.copyOf(inSources[node], inSize[node] * 2);
+        }
+        inSources[node][inSize[node]++] = source;
+    }
+
+    // Appends all of from's arcs to into's and empties from
+    public void moveArcs(int from, int into) {
+        for (int i = 0; i < outSize[from]; i++) {
+            appendOut(into, outTargets[from][i], outWeights[from][i]);
+        }
+        for (int i = 0; i < inSize[from]; i++) {
+            appendIn(into, inSources[from][i]);
+        }
+        outTargets[from] = null;
+        outWeights[from] = null;
+        inSources[from] = null;
+        outSize[from] = 0;
+        inSize[from] = 0;
+    }
+
+    // Drops arcs whose other endpoint now resolves to the node itself
+    public void dropSelfArcs(int node) {
+        int kept = 0;
+        for (int i = 0; i < outSize[node]; i++) {
+            if (resolve(outTargets[node][i]) != node) {
+                outTargets[node][kept] = outTargets[node][i];
+                outWeights[node][kept] = outWeights[node][i];
+                kept++;
+            }
+        }
+        outSize[node] = kept;
+        kept = 0;
+        for (int i = 0; i < inSize[node]; i++) {
+            if (resolve(inSources[node][i]) != node) {
+                inSources[node][kept++] = inSources[node][i];
+            }
+        }
+        inSize[node] = kept;
+    }
+
+    public int outDegree(int node) {
+        return outSize[node];
+    }
+
+    public int outTarget(int node, int i) {
+        return outTargets[node][i];
+    }
+
+    public double outWeight(int node, int i) {
+        return outWeights[node][i];
+    }
+
+    // Copies node's arcs into the arrays starting at offset
+    public void copyOut(int node, int[] targets, double[] weights, int offset) {
+        if (outSize[node] > 0) {
+            System.arraycopy(outTargets[node], 0, targets, offset, outSize[node]);
+            System.arraycopy(outWeights[node], 0, weights, offset, outSize[node]);
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+}
@@ -1,6 +1,7 @@
 package graph.topo;
 
 import graph.model.Graph;
+import graph.model.GraphView;
 import graph.metrics.Metrics;
 
 import java.util.List;
@@ -19,6 +20,14 @@ public class TopologicalSort {
         return kahn.topologicalSort(graph);
     }
 
+    public List<Integer> topologicalSort(GraphView graph) {
+        return kahn.topologicalSort(graph);
+    }
+
+    public int[] topologicalOrder(GraphView graph) {
+        return kahn.topologicalOrder(graph);
+    }
+
     public List<Integer> topologicalSortDFS(Graph graph) {
         return dfs.topologicalSort(graph);
     }
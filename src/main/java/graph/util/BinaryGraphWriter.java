@@ -0,0 +1,192 @@
+package graph.util;
+
+import graph.model.MappedCSRGraph;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams edges into the binary layout documented on MappedCSRGraph using
+// fixed-size buffers. Edges must arrive grouped by source vertex in
+// non-decreasing order, which is what lets offsets and targets be written in
+// place. The weights section starts after all targets, at a position that
+// depends on the final edge count, so weights are spooled to a temporary file
+// next to the output and appended by finish().
+public class BinaryGraphWriter implements EdgeSink {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final Path weightsPath;
+    private final FileChannel channel;
+    private final FileChannel weightsChannel;
+    private final ByteBuffer offsetBuffer;
+    private final ByteBuffer targetBuffer;
+    private final ByteBuffer weightBuffer;
+    private final int n;
+    private final boolean directed;
+    private final int source;
+
+    private long offsetPosition;
+    private long targetPosition;
+    // Next vertex whose offset has not been written yet
+    private int nextOffsetVertex;
+    private long edgeCount;
+    private boolean closed;
+
+    public BinaryGraphWriter(String filename, int n, boolean directed) throws IOException {
+        this(filename, n, directed, -1);
+    }
+
+    public BinaryGraphWriter(String filename, int n, boolean directed, int source) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative: " + n);
+        }
+        File file = new File(filename).getAbsoluteFile();
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        this.path = file.toPath();
+        this.n = n;
+        this.directed = directed;
+        this.source = source;
+        this.offsetPosition = MappedCSRGraph.HEADER_BYTES;
+        this.targetPosition = MappedCSRGraph.HEADER_BYTES + 4L * (n + 1);
+        this.offsetBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.targetBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.weightBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.weightsPath = Files.createTempFile(path.getParent(), file.getName(), ".weights");
+            this.weightsChannel = FileChannel.open(weightsPath, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public void addEdge(int u, int v, double w) throws IOException {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range for n=" + n);
+        }
+        if (u < nextOffsetVertex - 1) {
+            throw new IllegalArgumentException("Edges must be sorted by source vertex: "
+                    + u + " after " + (nextOffsetVertex - 1));
+        }
+        if (edgeCount == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Binary graph format holds at most "
+                    + Integer.MAX_VALUE + " edges");
+        }
+        while (nextOffsetVertex <= u) {
+            putOffset((int) edgeCount);
+        }
+        if (targetBuffer.remaining() < 4) {
+            targetPosition = write(channel, targetBuffer, targetPosition);
+        }
+        targetBuffer.putInt(v);
+        if (weightBuffer.remaining() < 8) {
+            write(weightsChannel, weightBuffer, weightsChannel.size());
+        }
+        weightBuffer.putDouble(w);
+        edgeCount++;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    // Writes the remaining sections and then the header, so a file only
+    // becomes a valid graph once everything before the header is on disk
+    @Override
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed: " + path);
+        }
+        closed = true;
+        boolean finished = false;
+        try {
+            while (nextOffsetVertex <= n) {
+                putOffset((int) edgeCount);
+            }
+            write(channel, offsetBuffer, offsetPosition);
+            targetPosition = write(channel, targetBuffer, targetPosition);
+
+            long weightsAt = MappedCSRGraph.weightsOffset(n, edgeCount);
+            ByteBuffer padding = ByteBuffer.allocate((int) (weightsAt - targetPosition));
+            while (padding.hasRemaining()) {
+                targetPosition += channel.write(padding, targetPosition);
+            }
+
+            write(weightsChannel, weightBuffer, weightsChannel.size());
+            long size = weightsChannel.size();
+            for (long copied = 0; copied < size; ) {
+                copied += weightsChannel.transferTo(copied, size - copied, channel.position(weightsAt + copied));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(MappedCSRGraph.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            GraphLoader.putHeader(header, directed, n, edgeCount, source);
+            write(channel, header, 0);
+            finished = true;
+        } finally {
+            closeChannels(!finished);
+        }
+    }
+
+    // Without a successful finish() the partial file is deleted, e.g. when a
+    // try-with-resources block exits with an exception
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeChannels(true);
+    }
+
+    private void closeChannels(boolean discard) throws IOException {
+        try {
+            weightsChannel.close();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                if (discard) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private void putOffset(int offset) throws IOException {
+        if (offsetBuffer.remaining() < 4) {
+            offsetPosition = write(channel, offsetBuffer, offsetPosition);
+        }
+        offsetBuffer.putInt(offset);
+        nextOffsetVertex++;
+    }
+
+    // Positional write of the buffer's contents; returns the position after them
+    private static long write(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+}
@@ -0,0 +1,52 @@
+package graph.util;
+
+import graph.model.CSRGraph;
+
+import java.util.Arrays;
+
+// Growable parallel arrays of (u, v, w) triples, used to collect edges
+// without allocating an object per edge.
+public class EdgeList {
+    private int[] sources;
+    private int[] targets;
+    private double[] weights;
+    private int size;
+
+    public EdgeList() {
+        this(16);
+    }
+
+    public EdgeList(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.sources = new int[capacity];
+        this.targets = new int[capacity];
+        this.weights = new double[capacity];
+    }
+
+    public void add(int u, int v, double w) {
+        if (size == sources.length) {
+            int capacity = size + (size >> 1) + 1;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[size] = u;
+        targets[size] = v;
+        weights[size] = w;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    // Keeps the capacity so the list can be refilled without reallocating
+    public void clear() { size = 0; }
+
+    // Backing arrays; only the first size() entries are meaningful
+    public int[] getSources() { return sources; }
+    public int[] getTargets() { return targets; }
+    public double[] getWeights() { return weights; }
+
+    public CSRGraph toCSR(int n, boolean directed) {
+        return CSRGraph.fromEdges(n, directed, sources, targets, weights, size);
+    }
+}
@@ -0,0 +1,18 @@
+package graph.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Destination for generated edges that may never be held in memory at once.
+// The vertex count is fixed up front; finish() completes the output and
+// closes the sink. Closing without finish() discards the output, so a
+// try-with-resources block that fails part way leaves no valid-looking file.
+public interface EdgeSink extends Closeable {
+    int getN();
+
+    void addEdge(int u, int v, double w) throws IOException;
+
+    long getEdgeCount();
+
+    void finish() throws IOException;
+}
@@ -24,6 +24,41 @@ public class GraphGenerator {
         System.out.println("All datasets generated successfully!");
     }
 
+    // Stress inputs with 2^scale vertices streamed straight to disk, so memory
+    // stays bounded by the generator's partition buffers (scale 26 gives a
+    // 1B-edge R-MAT graph). Read back with GraphLoader.loadCSRFromJson / mapBinary;
+    // from scale 25 the .bin weight sections pass 2 GB, which mapBinary maps
+    // in several windows.
+    public void generateStressDatasets(String directory, int scale) throws IOException {
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(42);
+        int n = 1 << scale;
+
+        // Power-law graph with a giant SCC, average out-degree 16
+        String rmatFile = directory + "/stress_rmat.json";
+        try (JsonGraphWriter writer = new JsonGraphWriter(rmatFile, n, true, "edge", 0)) {
+            generator.rmat(scale, 16, writer);
+            writer.finish();
+            System.out.println("Created " + rmatFile + " with " + writer.getEdgeCount() + " edges");
+        }
+
+        // Deep DAG: 2^(scale/2) vertices per layer, 8 arcs per vertex into the next layer
+        String layeredFile = directory + "/stress_layered.bin";
+        int width = 1 << (scale / 2);
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(layeredFile, n, true, 0)) {
+            generator.layeredDAG(n / width, width, 8, writer);
+            writer.finish();
+            System.out.println("Created " + layeredFile + " with " + writer.getEdgeCount() + " edges");
+        }
+
+        // Random DAG with average out-degree 8
+        String dagFile = directory + "/stress_dag.bin";
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(dagFile, n, true, 0)) {
+            generator.erdosRenyiDAG(n, Math.min(1.0, 16.0 / n), writer);
+            writer.finish();
+            System.out.println("Created " + dagFile + " with " + writer.getEdgeCount() + " edges");
+        }
+    }
+
     private void generateSmallDatasets() throws IOException {
         // Small 1: Assignment example with clear cycles and DAG condensation
         Graph small1 = createAssignmentExample();
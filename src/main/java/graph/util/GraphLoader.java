@@ -1,13 +1,24 @@
 package graph.util;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
+import graph.model.GraphView;
 import graph.model.Edge;
+import graph.model.MappedCSRGraph;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 public class GraphLoader {
     private static final Gson gson = new Gson();
@@ -45,32 +56,214 @@ public class GraphLoader {
         }
     }
 
+    public static CSRGraph loadCSRFromJson(String filename) throws IOException {
+        return streamJson(filename).toCSR();
+    }
+
+    // Same result as loadFromJson, but edges are streamed into primitive
+    // arrays instead of materializing the whole JSON tree first. Unlike
+    // loadFromJson, which parses leniently through Gson.fromJson, the JSON
+    // must be strict: comments, unquoted names or trailing data are an
+    // IOException.
+    public static Graph loadFromJsonStreaming(String filename) throws IOException {
+        StreamedGraph streamed = streamJson(filename);
+        Graph graph = streamed.toCSR().toGraph();
+        if (streamed.weightModel != null) {
+            graph.setProperty("weight_model", streamed.weightModel);
+        }
+        if (streamed.source != null) {
+            graph.setProperty("source", streamed.source);
+        }
+        return graph;
+    }
+
+    // Top-level fields may appear in any order; edges are buffered until n is known
+    private static StreamedGraph streamJson(String filename) throws IOException {
+        File file = new File(filename);
+        if (!file.exists()) {
+            throw new FileNotFoundException("File not found: " + filename);
+        }
+
+        StreamedGraph streamed = new StreamedGraph();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(filename), 1 << 16))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "n":
+                        streamed.n = reader.nextInt();
+                        break;
+                    case "directed":
+                        streamed.directed = reader.nextBoolean();
+                        break;
+                    case "weight_model":
+                        streamed.weightModel = reader.nextString();
+                        break;
+                    case "source":
+                        streamed.source = reader.nextInt();
+                        break;
+                    case "edges":
+                        readEdges(reader, streamed.edges);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            requireEnd(reader, filename);
+        }
+
+        if (streamed.n < 0 || streamed.directed == null) {
+            throw new IOException("Graph file must define n and directed: " + filename);
+        }
+        return streamed;
+    }
+
+    // A strict reader throws on anything but whitespace after the top-level value
+    private static void requireEnd(JsonReader reader, String filename) throws IOException {
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("Unexpected data after the graph object: " + filename);
+        }
+    }
+
+    private static void readEdges(JsonReader reader, EdgeList edges) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int u = -1;
+            int v = -1;
+            double w = Double.NaN;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "u": u = reader.nextInt(); break;
+                    case "v": v = reader.nextInt(); break;
+                    case "w": w = reader.nextDouble(); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (u < 0 || v < 0 || Double.isNaN(w)) {
+                throw new IOException("Edge " + edges.size() + " must define u, v and w");
+            }
+            edges.add(u, v, w);
+        }
+        reader.endArray();
+    }
+
+    private static final class StreamedGraph {
+        int n = -1;
+        Boolean directed;
+        String weightModel;
+        Integer source;
+        final EdgeList edges = new EdgeList(1024);
+
+        CSRGraph toCSR() {
+            return edges.toCSR(n, directed);
+        }
+    }
+
+    // Streams the edges through JsonGraphWriter instead of building a JsonArray tree
     public static void saveToJson(Graph graph, String filename) throws IOException {
-        // Create parent directories if they don't exist
+        try (JsonGraphWriter writer = new JsonGraphWriter(filename, graph.getN(), graph.isDirected())) {
+            for (int u = 0; u < graph.getN(); u++) {
+                for (Edge edge : graph.getNeighbors(u)) {
+                    writer.addEdge(u, edge.getV(), edge.getWeight());
+                }
+            }
+            writer.finish();
+        }
+    }
+
+    public static void saveToBinary(Graph graph, String filename) throws IOException {
+        Object source = graph.getProperty("source");
+        int sourceVertex = source instanceof Number ? ((Number) source).intValue() : -1;
+        saveToBinary(graph.toCSR(), graph.isDirected(), sourceVertex, filename);
+    }
+
+    public static void saveToBinary(CSRGraph graph, String filename) throws IOException {
+        saveToBinary(graph, graph.isDirected(), -1, filename);
+    }
+
+    // Writes the layout documented on MappedCSRGraph in 1 MB little-endian chunks
+    public static void saveToBinary(GraphView graph, boolean directed, int source, String filename) throws IOException {
         File file = new File(filename);
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
             parentDir.mkdirs();
         }
 
-        JsonObject json = new JsonObject();
-        json.addProperty("directed", graph.isDirected());
-        json.addProperty("n", graph.getN());
+        int n = graph.getN();
+        int m = graph.getEdgeCount();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            putHeader(buffer, directed, n, m, source);
 
-        JsonArray edges = new JsonArray();
-        for (int u = 0; u < graph.getN(); u++) {
-            for (Edge edge : graph.getNeighbors(u)) {
-                JsonObject edgeObj = new JsonObject();
-                edgeObj.addProperty("u", u);
-                edgeObj.addProperty("v", edge.getV());
-                edgeObj.addProperty("w", edge.getWeight());
-                edges.add(edgeObj);
+            // Offsets are recomputed from degrees so any GraphView edge numbering works
+            int offset = 0;
+            for (int u = 0; u <= n; u++) {
+                ensureRemaining(channel, buffer, 4);
+                buffer.putInt(offset);
+                if (u < n) {
+                    offset += graph.outDegree(u);
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    ensureRemaining(channel, buffer, 4);
+                    buffer.putInt(graph.target(e));
+                }
             }
+
+            long written = channel.position() + buffer.position();
+            long padding = MappedCSRGraph.weightsOffset(n, m) - written;
+            for (long i = 0; i < padding; i++) {
+                ensureRemaining(channel, buffer, 1);
+                buffer.put((byte) 0);
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    ensureRemaining(channel, buffer, 8);
+                    buffer.putDouble(graph.weight(e));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    static void putHeader(ByteBuffer buffer, boolean directed, int n, long m, int source) {
+        buffer.putInt(MappedCSRGraph.MAGIC);
+        buffer.putInt(MappedCSRGraph.VERSION);
+        buffer.putInt(directed ? MappedCSRGraph.FLAG_DIRECTED : 0);
+        buffer.putInt(n);
+        buffer.putLong(m);
+        buffer.putInt(source);
+        buffer.putInt(0);
+    }
+
+    public static MappedCSRGraph mapBinary(String filename) throws IOException {
+        Path path = Paths.get(filename);
+        if (!path.toFile().exists()) {
+            throw new FileNotFoundException("File not found: " + filename);
+        }
+        return MappedCSRGraph.open(path);
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
         }
-        json.add("edges", edges);
+    }
 
-        try (Writer writer = new FileWriter(filename)) {
-            gson.toJson(json, writer);
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
         }
+        buffer.clear();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package graph.util;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+
+// Writes the JSON graph format read by GraphLoader one edge at a time, so
+// memory use does not depend on the number of edges.
+public class JsonGraphWriter implements EdgeSink {
+    private final File file;
+    private final Writer out;
+    private final JsonWriter writer;
+    private final int n;
+    private long edgeCount;
+    private boolean closed;
+
+    public JsonGraphWriter(String filename, int n, boolean directed) throws IOException {
+        this(filename, n, directed, null, null);
+    }
+
+    public JsonGraphWriter(String filename, int n, boolean directed, String weightModel, Integer source)
+            throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count must be non-negative: " + n);
+        }
+        File file = new File(filename);
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        this.file = file;
+        this.n = n;
+        this.out = new BufferedWriter(new FileWriter(file), 1 << 16);
+        this.writer = new JsonWriter(out);
+        try {
+            writer.beginObject();
+            writer.name("directed").value(directed);
+            writer.name("n").value(n);
+            if (weightModel != null) {
+                writer.name("weight_model").value(weightModel);
+            }
+            if (source != null) {
+                writer.name("source").value(source);
+            }
+            writer.name("edges").beginArray();
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public void addEdge(int u, int v, double w) throws IOException {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range for n=" + n);
+        }
+        writer.beginObject();
+        writer.name("u").value(u);
+        writer.name("v").value(v);
+        writer.name("w").value(w);
+        writer.endObject();
+        edgeCount++;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed: " + file);
+        }
+        closed = true;
+        boolean finished = false;
+        try {
+            writer.endArray();
+            writer.endObject();
+            writer.close();
+            finished = true;
+        } finally {
+            if (!finished) {
+                discard();
+            }
+        }
+    }
+
+    // Without a successful finish() the partial file is deleted
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discard();
+    }
+
+    // Closes the underlying writer directly: JsonWriter refuses to close an
+    // incomplete document
+    private void discard() throws IOException {
+        try {
+            out.close();
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+}
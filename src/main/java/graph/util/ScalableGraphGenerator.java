@@ -0,0 +1,313 @@
+package graph.util;
+
+import graph.model.CSRGraph;
+import graph.model.GraphBuilder;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// O(V + E) random graph generators. Work is cut into fixed-size partitions,
+// each drawing from its own SplittableRandom seeded from (seed, partition), so
+// the output depends only on the seed and never on parallelism or scheduling.
+// Every generator can either build a CSRGraph or stream the same edges, in
+// source order except for R-MAT, into an EdgeSink with memory bounded by
+// `parallelism` partitions.
+public class ScalableGraphGenerator {
+    // Source vertices per partition for G(n, p) and layered DAGs
+    static final int VERTEX_PARTITION = 1 << 14;
+    // Edges per partition for R-MAT
+    static final int EDGE_PARTITION = 1 << 18;
+
+    private final long seed;
+    private final int parallelism;
+
+    public ScalableGraphGenerator(long seed) {
+        this(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ScalableGraphGenerator(long seed, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+
+    // Directed G(n, p) without self loops. Instead of one coin flip per pair,
+    // the gap to the next present arc in a row is drawn from a geometric
+    // distribution, so a row costs O(1 + out-degree).
+    public CSRGraph erdosRenyi(int n, double p) {
+        return build(gnp(n, p, false));
+    }
+
+    public void erdosRenyi(int n, double p, EdgeSink sink) throws IOException {
+        stream(gnp(n, p, false), sink);
+    }
+
+    // G(n, p) restricted to pairs u < v, so the result is always acyclic
+    public CSRGraph erdosRenyiDAG(int n, double p) {
+        return build(gnp(n, p, true));
+    }
+
+    public void erdosRenyiDAG(int n, double p, EdgeSink sink) throws IOException {
+        stream(gnp(n, p, true), sink);
+    }
+
+    // R-MAT (recursive matrix) power-law graph with 2^scale vertices and
+    // edgeFactor * 2^scale arcs. Each arc descends `scale` levels of the
+    // adjacency matrix, picking a quadrant with probabilities a, b, c and
+    // 1 - a - b - c. Self loops and parallel arcs are kept, as in Graph500.
+    public CSRGraph rmat(int scale, int edgeFactor, double a, double b, double c) {
+        return build(rmatJob(scale, edgeFactor, a, b, c));
+    }
+
+    // Arcs come out in generation order, not grouped by source, so the sink
+    // must accept unsorted edges (JsonGraphWriter does, BinaryGraphWriter does not)
+    public void rmat(int scale, int edgeFactor, double a, double b, double c, EdgeSink sink) throws IOException {
+        stream(rmatJob(scale, edgeFactor, a, b, c), sink);
+    }
+
+    // Graph500 parameters
+    public CSRGraph rmat(int scale, int edgeFactor) {
+        return rmat(scale, edgeFactor, 0.57, 0.19, 0.19);
+    }
+
+    public void rmat(int scale, int edgeFactor, EdgeSink sink) throws IOException {
+        rmat(scale, edgeFactor, 0.57, 0.19, 0.19, sink);
+    }
+
+    // DAG of `layers` layers with exactly `width` vertices each, numbered layer
+    // by layer. Every vertex outside the last layer gets `degree` arcs to
+    // random vertices of the next layer, so the longest path has layers - 1
+    // arcs and every layer is an antichain of the given width.
+    public CSRGraph layeredDAG(int layers, int width, int degree) {
+        return build(layeredJob(layers, width, degree));
+    }
+
+    public void layeredDAG(int layers, int width, int degree, EdgeSink sink) throws IOException {
+        stream(layeredJob(layers, width, degree), sink);
+    }
+
+    private Job gnp(int n, double p, boolean acyclic) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Vertex count must be positive: " + n);
+        }
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Probability must be in [0, 1]: " + p);
+        }
+        double pairs = acyclic ? (double) n * (n - 1) / 2 : (double) n * (n - 1);
+        double logQ = Math.log1p(-p);
+        int partitions = (n + VERTEX_PARTITION - 1) / VERTEX_PARTITION;
+
+        return new Job(n, (long) Math.ceil(pairs * p), partitions, (partition, random, edges) -> {
+            if (p == 0) {
+                return;
+            }
+            int end = Math.min(n, (partition + 1) * VERTEX_PARTITION);
+            for (int u = partition * VERTEX_PARTITION; u < end; u++) {
+                // Columns are walked as candidates 0.. skipping the diagonal;
+                // the geometric distribution is memoryless, so each row restarts.
+                int first = acyclic ? u + 1 : 0;
+                long candidates = acyclic ? n - first : n - 1;
+                long c = -1;
+                while (true) {
+                    double skip = p == 1 ? 0 : Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+                    if (skip >= candidates - c - 1) {
+                        break;
+                    }
+                    c += 1 + (long) skip;
+                    int v = (int) (first + c);
+                    if (!acyclic && v >= u) {
+                        v++;
+                    }
+                    edges.add(u, v, randomWeight(random));
+                }
+            }
+        });
+    }
+
+    private Job rmatJob(int scale, int edgeFactor, double a, double b, double c) {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("Scale must be in [1, 30]: " + scale);
+        }
+        if (edgeFactor < 1) {
+            throw new IllegalArgumentException("Edge factor must be positive: " + edgeFactor);
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("Invalid R-MAT probabilities: " + a + ", " + b + ", " + c);
+        }
+        int n = 1 << scale;
+        long m = (long) edgeFactor * n;
+        int partitions = (int) ((m + EDGE_PARTITION - 1) / EDGE_PARTITION);
+        double ab = a + b;
+        double abc = a + b + c;
+
+        return new Job(n, m, partitions, (partition, random, edges) -> {
+            long end = Math.min(m, (long) (partition + 1) * EDGE_PARTITION);
+            for (long e = (long) partition * EDGE_PARTITION; e < end; e++) {
+                int u = 0;
+                int v = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    double r = random.nextDouble();
+                    if (r >= abc) {
+                        u |= 1 << bit;
+                        v |= 1 << bit;
+                    } else if (r >= ab) {
+                        u |= 1 << bit;
+                    } else if (r >= a) {
+                        v |= 1 << bit;
+                    }
+                }
+                edges.add(u, v, randomWeight(random));
+            }
+        });
+    }
+
+    private Job layeredJob(int layers, int width, int degree) {
+        if (layers < 1 || width < 1 || degree < 0) {
+            throw new IllegalArgumentException("Invalid layered DAG shape: layers=" + layers
+                    + ", width=" + width + ", degree=" + degree);
+        }
+        long vertices = (long) layers * width;
+        if (vertices > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices: " + vertices);
+        }
+        int n = (int) vertices;
+        int lastLayerStart = n - width;
+        int partitions = Math.max(1, (lastLayerStart + VERTEX_PARTITION - 1) / VERTEX_PARTITION);
+
+        return new Job(n, (long) lastLayerStart * degree, partitions, (partition, random, edges) -> {
+            int end = Math.min(lastLayerStart, (partition + 1) * VERTEX_PARTITION);
+            for (int u = partition * VERTEX_PARTITION; u < end; u++) {
+                int nextLayerStart = (u / width + 1) * width;
+                for (int d = 0; d < degree; d++) {
+                    edges.add(u, nextLayerStart + random.nextInt(width), randomWeight(random));
+                }
+            }
+        });
+    }
+
+    private CSRGraph build(Job job) {
+        checkEdgeCount(job.expectedEdges);
+        EdgeList[] parts = new EdgeList[job.partitions];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, job.partitions).parallel().forEach(partition -> {
+                EdgeList edges = new EdgeList();
+                job.generate(partition, edges);
+                parts[partition] = edges;
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        long total = 0;
+        for (EdgeList part : parts) {
+            total += part.size();
+        }
+        checkEdgeCount(total);
+        int m = (int) total;
+        int[] src = new int[m];
+        int[] dst = new int[m];
+        double[] w = new double[m];
+        int offset = 0;
+        for (int i = 0; i < job.partitions; i++) {
+            EdgeList part = parts[i];
+            System.arraycopy(part.getSources(), 0, src, offset, part.size());
+            System.arraycopy(part.getTargets(), 0, dst, offset, part.size());
+            System.arraycopy(part.getWeights(), 0, w, offset, part.size());
+            offset += part.size();
+            parts[i] = null;
+        }
+        return new GraphBuilder(job.n, true, parallelism).buildCSR(src, dst, w, m);
+    }
+
+    // Generates `parallelism` partitions at a time into reused buffers, then
+    // drains them to the sink in partition order. The sink is not closed.
+    private void stream(Job job, EdgeSink sink) throws IOException {
+        if (sink.getN() != job.n) {
+            throw new IllegalArgumentException("Sink expects " + sink.getN() + " vertices, generator produces " + job.n);
+        }
+        EdgeList[] buffers = new EdgeList[Math.min(parallelism, job.partitions)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new EdgeList();
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int batch = 0; batch < job.partitions; batch += buffers.length) {
+                int first = batch;
+                int count = Math.min(buffers.length, job.partitions - batch);
+                pool.submit(() -> IntStream.range(0, count).parallel().forEach(i -> {
+                    buffers[i].clear();
+                    job.generate(first + i, buffers[i]);
+                })).join();
+
+                for (int i = 0; i < count; i++) {
+                    EdgeList edges = buffers[i];
+                    int[] sources = edges.getSources();
+                    int[] targets = edges.getTargets();
+                    double[] weights = edges.getWeights();
+                    for (int e = 0; e < edges.size(); e++) {
+                        sink.addEdge(sources[e], targets[e], weights[e]);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // SplitMix64 finalizer over (seed, partition): neighbouring partitions get
+    // unrelated streams, and the same partition always gets the same one.
+    // Shared by every engine that splits seeded work into fixed partitions.
+    public static long partitionSeed(long seed, int partition) {
+        long z = seed + (partition + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double randomWeight(SplittableRandom random) {
+        return 1 + random.nextInt(10);
+    }
+
+    private static void checkEdgeCount(long m) {
+        // Leave headroom below the int limit for array headers
+        if (m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for an int-indexed graph: " + m);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    interface PartitionGenerator {
+        void generate(int partition, SplittableRandom random, EdgeList edges);
+    }
+
+    private final class Job {
+        final int n;
+        // Exact for R-MAT and layered DAGs, the expectation for G(n, p)
+        final long expectedEdges;
+        final int partitions;
+        final PartitionGenerator generator;
+
+        Job(int n, long expectedEdges, int partitions, PartitionGenerator generator) {
+            this.n = n;
+            this.expectedEdges = expectedEdges;
+            this.partitions = partitions;
+            this.generator = generator;
+        }
+
+        void generate(int partition, EdgeList edges) {
+            generator.generate(partition, new SplittableRandom(partitionSeed(seed, partition)), edges);
+        }
+    }
+}
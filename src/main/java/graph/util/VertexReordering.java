@@ -0,0 +1,286 @@
+package graph.util;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.scc.Condensation;
+import graph.scc.SccResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A permutation of vertex ids applied before a graph is frozen, so vertices
+// that are traversed together sit close together in the CSR arrays. The
+// permuted graph is run through the usual engines and their results are
+// mapped back with the toOriginal methods. Orderings treat arcs as
+// undirected, since DFS and relaxation follow arcs in both kinds of graph.
+public final class VertexReordering {
+    private final int[] newToOld;
+    private final int[] oldToNew;
+
+    private VertexReordering(int[] newToOld) {
+        int n = newToOld.length;
+        int[] inverse = new int[n];
+        Arrays.fill(inverse, -1);
+        for (int i = 0; i < n; i++) {
+            int old = newToOld[i];
+            if (old < 0 || old >= n || inverse[old] != -1) {
+                throw new IllegalArgumentException("Not a permutation of [0, " + n + "): repeated or invalid id " + old);
+            }
+            inverse[old] = i;
+        }
+        this.newToOld = newToOld;
+        this.oldToNew = inverse;
+    }
+
+    // newToOld[i] is the original id of the vertex that gets id i
+    public static VertexReordering of(int[] newToOld) {
+        return new VertexReordering(newToOld.clone());
+    }
+
+    public static VertexReordering identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return new VertexReordering(order);
+    }
+
+    // Breadth-first order, each unvisited vertex in id order starting a new search
+    public static VertexReordering bfs(GraphView graph) {
+        return new VertexReordering(breadthFirst(graph, graph.getTranspose(), false));
+    }
+
+    // Reverse Cuthill-McKee: breadth-first from a minimum-degree vertex of
+    // each component, neighbours taken in increasing degree, and the whole
+    // order reversed. Keeps arcs within a narrow band of ids.
+    public static VertexReordering reverseCuthillMcKee(GraphView graph) {
+        int[] order = breadthFirst(graph, graph.getTranspose(), true);
+        for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return new VertexReordering(order);
+    }
+
+    // Highest total degree first, ties by original id, so hubs share cache lines
+    public static VertexReordering degreeSorted(GraphView graph) {
+        int n = graph.getN();
+        GraphView reverse = graph.getTranspose();
+        int maxDegree = 0;
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.outDegree(v) + reverse.outDegree(v);
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+        // Counting sort on descending degree keeps it stable and O(V + maxDegree)
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            start[maxDegree - degree[v] + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            order[start[maxDegree - degree[v]]++] = v;
+        }
+        return new VertexReordering(order);
+    }
+
+    private static int[] breadthFirst(GraphView graph, GraphView reverse, boolean byDegree) {
+        int n = graph.getN();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.outDegree(v) + reverse.outDegree(v);
+        }
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = v;
+        }
+        if (byDegree) {
+            sortByDegree(roots, 0, n, degree);
+        }
+
+        // The order array doubles as the FIFO queue
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int tail = 0;
+        for (int root : roots) {
+            if (visited[root]) {
+                continue;
+            }
+            int head = tail;
+            visited[root] = true;
+            order[tail++] = root;
+            while (head < tail) {
+                int u = order[head++];
+                int first = tail;
+                tail = enqueueNeighbors(graph, u, visited, order, tail);
+                tail = enqueueNeighbors(reverse, u, visited, order, tail);
+                if (byDegree) {
+                    sortByDegree(order, first, tail, degree);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static int enqueueNeighbors(GraphView graph, int u, boolean[] visited, int[] order, int tail) {
+        for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+            int v = graph.target(e);
+            if (!visited[v]) {
+                visited[v] = true;
+                order[tail++] = v;
+            }
+        }
+        return tail;
+    }
+
+    // Stable sort of vertices[from, to) by degree; degree and id are packed into one long
+    private static void sortByDegree(int[] vertices, int from, int to, int[] degree) {
+        if (to - from < 2) {
+            return;
+        }
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = ((long) degree[vertices[i]] << 32) | (i - from);
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[to - from];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = vertices[from + (int) keys[i]];
+        }
+        System.arraycopy(sorted, 0, vertices, from, sorted.length);
+    }
+
+    // CSR graph whose vertex i is original vertex newToOld[i]; arcs keep
+    // their per-vertex order
+    public CSRGraph apply(GraphView graph) {
+        int n = graph.getN();
+        if (n != newToOld.length) {
+            throw new IllegalArgumentException("Reordering covers " + newToOld.length + " vertices, graph has " + n);
+        }
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.outDegree(newToOld[i]);
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = offsets[i];
+            int u = newToOld[i];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                targets[pos] = oldToNew[graph.target(e)];
+                weights[pos] = graph.weight(e);
+                pos++;
+            }
+        }
+        boolean directed = !(graph instanceof CSRGraph) || ((CSRGraph) graph).isDirected();
+        return new CSRGraph(n, directed, offsets, targets, weights);
+    }
+
+    public int size() {
+        return newToOld.length;
+    }
+
+    public int toNew(int original) {
+        return oldToNew[original];
+    }
+
+    public int toOriginal(int newId) {
+        return newToOld[newId];
+    }
+
+    public int[] getNewToOld() {
+        return newToOld.clone();
+    }
+
+    public int[] getOldToNew() {
+        return oldToNew.clone();
+    }
+
+    // Per-vertex values indexed by new id, re-indexed by original id
+    public double[] toOriginalOrder(double[] byNewId) {
+        double[] byOriginal = new double[byNewId.length];
+        for (int i = 0; i < byNewId.length; i++) {
+            byOriginal[newToOld[i]] = byNewId[i];
+        }
+        return byOriginal;
+    }
+
+    public int[] toOriginalOrder(int[] byNewId) {
+        int[] byOriginal = new int[byNewId.length];
+        for (int i = 0; i < byNewId.length; i++) {
+            byOriginal[newToOld[i]] = byNewId[i];
+        }
+        return byOriginal;
+    }
+
+    // Vertex ids translated one by one; negative entries such as "no
+    // predecessor" are kept as they are
+    public int[] toOriginalIds(int[] newIds) {
+        int[] ids = new int[newIds.length];
+        for (int i = 0; i < newIds.length; i++) {
+            ids[i] = newIds[i] < 0 ? newIds[i] : newToOld[newIds[i]];
+        }
+        return ids;
+    }
+
+    public List<Integer> toOriginalIds(List<Integer> newIds) {
+        List<Integer> ids = new ArrayList<>(newIds.size());
+        for (int v : newIds) {
+            ids.add(v < 0 ? v : newToOld[v]);
+        }
+        return ids;
+    }
+
+    // Same components and component ids; members listed in ascending original id
+    public SccResult toOriginal(SccResult sccs) {
+        return SccResult.fromComponentIds(toOriginalOrder(sccs.getComponentOf()), sccs.getComponentCount());
+    }
+
+    // The condensation DAG is over component ids and needs no translation
+    public Condensation toOriginal(Condensation condensation) {
+        return new Condensation(toOriginal(condensation.getSccResult()), condensation.getDag());
+    }
+
+    public List<List<Integer>> toOriginalComponents(List<List<Integer>> components) {
+        List<List<Integer>> mapped = new ArrayList<>(components.size());
+        for (List<Integer> component : components) {
+            mapped.add(toOriginalIds(component));
+        }
+        return mapped;
+    }
+
+    public DAGShortestPath.ShortestPathResult toOriginal(DAGShortestPath.ShortestPathResult result) {
+        int[] predecessors = result.getPredecessors();
+        return new DAGShortestPath.ShortestPathResult(
+                newToOld[result.getSource()],
+                toOriginalOrder(result.getDistances()),
+                predecessors == null ? null : toOriginalIds(toOriginalOrder(predecessors)),
+                toOriginalIds(result.getTopologicalOrder()));
+    }
+
+    public DAGLongestPath.CriticalPathResult toOriginal(DAGLongestPath.CriticalPathResult result) {
+        return new DAGLongestPath.CriticalPathResult(result.getLength(),
+                result.getStartVertex() < 0 ? result.getStartVertex() : newToOld[result.getStartVertex()],
+                result.getEndVertex() < 0 ? result.getEndVertex() : newToOld[result.getEndVertex()],
+                toOriginalIds(result.getPath()));
+    }
+
+    // Mean |u - v| over all arcs: a cheap proxy for how far apart in memory
+    // the two ends of an arc are
+    public static double averageArcSpan(GraphView graph) {
+        long total = 0;
+        for (int u = 0; u < graph.getN(); u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                total += Math.abs(graph.target(e) - u);
+            }
+        }
+        return graph.getEdgeCount() == 0 ? 0 : (double) total / graph.getEdgeCount();
+    }
+}
@@ -0,0 +1,116 @@
+package graph.util;
+
+import java.util.Arrays;
+
+// Reusable scratch arrays for traversals over vertex ids [0, n). Instead of
+// clearing between queries, begin() starts a new epoch and a vertex counts as
+// marked only while its stamp equals the current epoch, so starting a query is
+// O(1) and a query costs O(vertices touched). The contents of the scratch
+// arrays are unspecified for vertices not marked in the current epoch.
+//
+// Not thread-safe: algorithms keep one instance per thread via perThread().
+public final class Workspace {
+    public static final int EPOCHS_PER_QUERY = 16;
+    // Capacity is given back after this many begin() calls in a row needed
+    // at most a quarter of it; workspaces below the minimum are kept as they are
+    static final int SHRINK_AFTER = 64;
+    static final int MIN_SHRINK_CAPACITY = 1 << 16;
+
+    private final int[][] ints;
+    private final double[][] doubles;
+    private int[] stamps = new int[0];
+    private int epoch;
+    private int smallQueries;
+
+    public Workspace(int intArrays, int doubleArrays) {
+        this.ints = new int[intArrays][0];
+        this.doubles = new double[doubleArrays][0];
+    }
+
+    public static ThreadLocal<Workspace> perThread(int intArrays, int doubleArrays) {
+        return ThreadLocal.withInitial(() -> new Workspace(intArrays, doubleArrays));
+    }
+
+    // Makes room for n vertices and starts an epoch in which nothing is marked.
+    // Repeated queries on one graph allocate nothing. After a long run of
+    // queries on much smaller graphs the arrays shrink to fit, so a thread
+    // does not hold arrays sized for the largest graph it has ever seen.
+    public Workspace begin(int n) {
+        if (stamps.length < n) {
+            allocate(n);
+        } else if (stamps.length > MIN_SHRINK_CAPACITY && n <= stamps.length / 4) {
+            if (++smallQueries >= SHRINK_AFTER) {
+                allocate(n);
+            }
+        } else {
+            smallQueries = 0;
+        }
+        // Wrap early so the nextEpoch() calls of one query never reset stamps
+        if (epoch > Integer.MAX_VALUE - EPOCHS_PER_QUERY) {
+            Arrays.fill(stamps, 0);
+            epoch = 0;
+        }
+        epoch++;
+        return this;
+    }
+
+    // Stamps start at 0 and epochs at 1 or more, so nothing is marked afterwards
+    private void allocate(int n) {
+        stamps = new int[n];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = new int[n];
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = new double[n];
+        }
+        smallQueries = 0;
+    }
+
+    // Unmarks every vertex without touching the scratch arrays; stamps of the
+    // previous epoch stay readable through stamp(v). At most
+    // EPOCHS_PER_QUERY - 1 calls may follow one begin().
+    public int nextEpoch() {
+        return ++epoch;
+    }
+
+    public int getEpoch() {
+        return epoch;
+    }
+
+    public boolean isMarked(int v) {
+        return stamps[v] == epoch;
+    }
+
+    public void mark(int v) {
+        stamps[v] = epoch;
+    }
+
+    public int stamp(int v) {
+        return stamps[v];
+    }
+
+    public int[] ints(int index) {
+        return ints[index];
+    }
+
+    public double[] doubles(int index) {
+        return doubles[index];
+    }
+
+    public int capacity() {
+        return stamps.length;
+    }
+
+    // Drops the arrays, e.g. after a one-off run on a much larger graph
+    public void release() {
+        stamps = new int[0];
+        Arrays.fill(ints, new int[0]);
+        Arrays.fill(doubles, new double[0]);
+        smallQueries = 0;
+    }
+
+    // Lets tests exercise the wrap-around in nextEpoch
+    void setEpoch(int epoch) {
+        this.epoch = epoch;
+    }
+}
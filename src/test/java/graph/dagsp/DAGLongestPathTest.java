@@ -1,6 +1,8 @@
 package graph.dagsp;
 
+import graph.model.Edge;
 import graph.model.Graph;
+import graph.util.TestGraphFactory;
 import org.junit.jupiter.api.Test;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,4 +107,81 @@ public class DAGLongestPathTest {
         assertEquals(0, result.getStartVertex());
         assertEquals(3, result.getEndVertex());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAllSourcesMatchesPerSourceSearch() {
+        Graph graph = new Graph(6, true);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 3, 6);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 4, 4);
+        graph.addEdge(2, 5, 2);
+        graph.addEdge(2, 3, 7);
+        graph.addEdge(3, 5, 1);
+        graph.addEdge(3, 4, -1);
+        graph.addEdge(4, 5, -2);
+
+        DAGLongestPath longestPath = new DAGLongestPath();
+        DAGLongestPath.CriticalPathResult result = longestPath.findCriticalPathAllSources(graph);
+
+        assertEquals(15.0, result.getLength(), 1e-9);
+        assertEquals(0, result.getStartVertex());
+        assertEquals(5, result.getEndVertex());
+        assertEquals(List.of(0, 1, 2, 3, 5), result.getPath());
+        assertEquals(10, longestPath.getMetrics().getCounter("edges_relaxed"));
+    }
+
+    @Test
+    public void testAllSourcesOnRandomDAGs() {
+        for (int trial = 0; trial < 5; trial++) {
+            Graph graph = TestGraphFactory.createTestDAG(60, 0.08);
+
+            DAGLongestPath longestPath = new DAGLongestPath();
+            double expected = longestPath.findCriticalPath(graph).getLength();
+            DAGLongestPath.CriticalPathResult result = longestPath.findCriticalPathAllSources(graph);
+
+            assertEquals(expected, result.getLength(), 1e-9);
+            List<Integer> path = result.getPath();
+            assertEquals(result.getStartVertex(), path.get(0).intValue());
+            assertEquals(result.getEndVertex(), path.get(path.size() - 1).intValue());
+            assertEquals(expected, pathLength(graph, path), 1e-9);
+        }
+    }
+
+    @Test
+    public void testAllSourcesWithCycle() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+
+        DAGLongestPath longestPath = new DAGLongestPath();
+        Graph dag = new Graph(2, true);
+        dag.addEdge(0, 1, 4);
+        longestPath.findCriticalPathAllSources(dag);
+        assertEquals(1, longestPath.getMetrics().getCounter("edges_relaxed"));
+
+        DAGLongestPath.CriticalPathResult result = longestPath.findCriticalPathAllSources(graph);
+
+        assertEquals(Double.NEGATIVE_INFINITY, result.getLength());
+        assertEquals(-1, result.getStartVertex());
+        assertTrue(result.getPath().isEmpty());
+        // The cyclic call reports its own empty run, not the previous one
+        assertEquals(0, longestPath.getMetrics().getCounter("edges_relaxed"));
+    }
+
+    private static double pathLength(Graph graph, List<Integer> path) {
+        double total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (Edge edge : graph.getNeighbors(path.get(i))) {
+                if (edge.getV() == path.get(i + 1)) {
+                    best = Math.max(best, edge.getWeight());
+                }
+            }
+            total += best;
+        }
+        return total;
+    }
+}
@@ -1,7 +1,10 @@
 package graph.dagsp;
 
 import graph.model.Graph;
+import graph.model.CSRGraph;
+import graph.util.ScalableGraphGenerator;
 import org.junit.jupiter.api.Test;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DAGShortestPathTest {
@@ -50,4 +53,194 @@ public class DAGShortestPathTest {
 
         assertEquals(0.0, distances[0], 1e-9);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testShortestPathTreePaths() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 4);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(1, 3, 6);
+        graph.addEdge(2, 3, 3);
+
+        DAGShortestPath shortestPath = new DAGShortestPath();
+        DAGShortestPath.ShortestPathResult result = shortestPath.findShortestPathTree(graph, 0);
+
+        assertEquals(6.0, result.getDistance(3), 1e-9);
+        assertEquals(List.of(0, 1, 2, 3), result.getPath(3));
+        assertEquals(List.of(0), result.getPath(0));
+        assertFalse(result.hasPathTo(4));
+        assertTrue(result.getPath(4).isEmpty());
+        assertEquals(-1, result.getPredecessors()[0]);
+    }
+
+    @Test
+    public void testAllPathsFromPredecessorTree() {
+        Graph graph = new Graph(6, true);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 4);
+        graph.addEdge(3, 4, 5);
+
+        DAGShortestPath.ShortestPathResult result = new DAGShortestPath().findShortestPathTree(graph, 0);
+        List<List<Integer>> paths = result.getAllPaths();
+
+        assertEquals(6, paths.size());
+        assertEquals(List.of(0, 2), paths.get(2));
+        assertEquals(List.of(0, 1, 3, 4), paths.get(4));
+        assertTrue(paths.get(5).isEmpty());
+        for (int v = 0; v < 5; v++) {
+            assertEquals(result.getPath(v), paths.get(v));
+        }
+    }
+
+    @Test
+    public void testAllPathsOnLongChain() {
+        int n = 200_000;
+        Graph graph = new Graph(n, true);
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1, 1);
+        }
+
+        List<List<Integer>> paths = new DAGShortestPath().findShortestPathTree(graph, 0).getAllPaths();
+
+        assertEquals(n, paths.size());
+        assertEquals(n, paths.get(n - 1).size());
+        assertEquals(n - 1, (int) paths.get(n - 1).get(n - 1));
+        assertEquals(List.of(0, 1, 2), paths.get(2));
+    }
+
+    @Test
+    public void testAllPathsMatchGetPathOnRandomDAG() {
+        CSRGraph dag = new ScalableGraphGenerator(2).erdosRenyiDAG(3000, 0.003);
+        DAGShortestPath.ShortestPathResult result = new DAGShortestPath().findShortestPathTree(dag, 0);
+
+        List<List<Integer>> paths = result.getAllPaths();
+
+        for (int v = 0; v < dag.getN(); v++) {
+            assertEquals(result.getPath(v), paths.get(v), "path to " + v);
+        }
+    }
+
+    @Test
+    public void testAllPathsOnBroom() {
+        // A 100000-vertex handle ending in 100000 leaves: the paths hold
+        // 10^10 vertices in total, but share the handle
+        int handle = 100_000;
+        Graph graph = new Graph(2 * handle, true);
+        for (int v = 0; v + 1 < handle; v++) {
+            graph.addEdge(v, v + 1, 1);
+        }
+        for (int leaf = handle; leaf < 2 * handle; leaf++) {
+            graph.addEdge(handle - 1, leaf, 1);
+        }
+
+        List<List<Integer>> paths = new DAGShortestPath().findShortestPathTree(graph, 0).getAllPaths();
+
+        for (int leaf = handle; leaf < 2 * handle; leaf += 9973) {
+            List<Integer> path = paths.get(leaf);
+            assertEquals(handle + 1, path.size());
+            assertEquals(handle - 1, (int) path.get(handle - 1));
+            assertEquals(leaf, (int) path.get(handle));
+        }
+        assertEquals(List.of(0, 1), paths.get(1));
+    }
+
+    @Test
+    public void testResultArraysAreCopies() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        DAGShortestPath.ShortestPathResult result = new DAGShortestPath().findShortestPathTree(graph, 0);
+
+        result.getPredecessors()[2] = 0;
+        result.getDistances()[2] = 0;
+
+        assertEquals(List.of(0, 1, 2), result.getAllPaths().get(2));
+        assertEquals(2.0, result.getDistance(2));
+    }
+
+    @Test
+    public void testFullRunsMatchAcrossGraphSizes() {
+        // The per-thread workspace is reused from a large graph for a small one
+        DAGShortestPath shortestPath = new DAGShortestPath();
+        CSRGraph large = new ScalableGraphGenerator(6).erdosRenyiDAG(5000, 0.002);
+        CSRGraph small = new ScalableGraphGenerator(7).erdosRenyiDAG(300, 0.02);
+        for (CSRGraph dag : List.of(large, small, large)) {
+            for (int source = 0; source < dag.getN(); source += 61) {
+                assertArrayEquals(shortestPath.findShortestPathTree(dag, source).getDistances(),
+                        shortestPath.findShortestPaths(dag, source), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testPathsRequirePredecessors() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, 1);
+
+        DAGShortestPath.ShortestPathResult result = new DAGShortestPath.ShortestPathResult(
+                0, new DAGShortestPath().findShortestPaths(graph, 0), null, new int[]{0, 1});
+
+        assertThrows(IllegalStateException.class, () -> result.getPath(1));
+    }
+
+    @Test
+    public void testSinglePairQueriesMatchFullRun() {
+        CSRGraph dag = new ScalableGraphGenerator(4).erdosRenyiDAG(2000, 0.004);
+        DAGShortestPath shortestPath = new DAGShortestPath();
+
+        for (int source = 0; source < dag.getN(); source += 97) {
+            DAGShortestPath.ShortestPathResult full = shortestPath.findShortestPathTree(dag, source);
+            for (int target = 0; target < dag.getN(); target += 13) {
+                assertEquals(full.getDistance(target), shortestPath.shortestDistance(dag, source, target), 1e-9);
+                List<Integer> path = shortestPath.shortestPath(dag, source, target);
+                assertEquals(full.hasPathTo(target), !path.isEmpty());
+                if (!path.isEmpty()) {
+                    assertEquals(source, path.get(0));
+                    assertEquals(target, path.get(path.size() - 1));
+                    double length = 0;
+                    for (int i = 0; i + 1 < path.size(); i++) {
+                        double best = Double.POSITIVE_INFINITY;
+                        for (int e = dag.edgeStart(path.get(i)); e < dag.edgeEnd(path.get(i)); e++) {
+                            if (dag.target(e) == path.get(i + 1)) {
+                                best = Math.min(best, dag.weight(e));
+                            }
+                        }
+                        length += best;
+                    }
+                    assertEquals(full.getDistance(target), length, 1e-9);
+                }
+            }
+        }
+        assertEquals(List.of(5), shortestPath.shortestPath(dag, 5, 5));
+    }
+
+    @Test
+    public void testSinglePairQueriesRejectCycles() {
+        // 0 -> 1 -> 2 -> 1, plus a diamond 0 -> 3 -> 4 that is acyclic
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(0, 3, 1);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(0, 4, 5);
+        CSRGraph csr = graph.toCSR();
+        DAGShortestPath shortestPath = new DAGShortestPath();
+
+        assertThrows(IllegalArgumentException.class, () -> shortestPath.shortestDistance(csr, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> shortestPath.shortestPath(csr, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> shortestPath.findShortestPaths(csr, 0));
+        // Only the part reachable from source is searched
+        assertEquals(1.0, shortestPath.shortestDistance(csr, 3, 4), 1e-9);
+        assertEquals(List.of(3, 4), shortestPath.shortestPath(csr, 3, 4));
+        double[] fromThree = shortestPath.findShortestPaths(csr, 3);
+        assertEquals(1.0, fromThree[4], 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, fromThree[1]);
+        // A full topological order still rejects every cycle
+        assertThrows(IllegalArgumentException.class,
+                () -> shortestPath.findShortestPathTree(csr, 3));
+    }
+}
@@ -0,0 +1,88 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.scc.Condensation;
+import graph.scc.TarjanSCC;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreparedDAGTest {
+
+    @Test
+    public void testMatchesDAGShortestPathFromEverySource() {
+        Graph graph = TestGraphFactory.createTestDAG(50, 0.1);
+        PreparedDAG prepared = new PreparedDAG(graph);
+        DAGShortestPath shortestPath = new DAGShortestPath();
+
+        for (int source = 0; source < graph.getN(); source++) {
+            assertArrayEquals(shortestPath.findShortestPaths(graph, source),
+                    prepared.shortestPaths(source), 1e-9);
+        }
+    }
+
+    @Test
+    public void testScansOnlyFromSourcePosition() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 1);
+
+        PreparedDAG prepared = new PreparedDAG(graph);
+        double[] dist = prepared.shortestPaths(3);
+
+        assertEquals(Double.POSITIVE_INFINITY, dist[0]);
+        assertEquals(1.0, dist[4], 1e-9);
+        assertEquals(2, prepared.getMetrics().getCounter("vertices_processed"));
+    }
+
+    @Test
+    public void testLongestPathsAndTree() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 3);
+        graph.addEdge(0, 2, 2);
+        graph.addEdge(1, 3, 4);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 5);
+
+        PreparedDAG prepared = new PreparedDAG(graph);
+
+        double[] longest = prepared.longestPaths(0);
+        assertEquals(12.0, longest[4], 1e-9);
+        assertEquals(Double.NEGATIVE_INFINITY, prepared.longestPaths(2)[1]);
+
+        DAGShortestPath.ShortestPathResult tree = prepared.shortestPathTree(0);
+        assertEquals(List.of(0, 2, 3, 4), tree.getPath(4));
+        assertEquals(8.0, tree.getDistance(4), 1e-9);
+
+        DAGLongestPath.CriticalPathResult critical = prepared.criticalPath();
+        assertEquals(12.0, critical.getLength(), 1e-9);
+        assertEquals(List.of(0, 1, 3, 4), critical.getPath());
+    }
+
+    @Test
+    public void testFromCondensation() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+
+        Condensation condensation = new TarjanSCC().condense(graph);
+        PreparedDAG prepared = PreparedDAG.of(condensation);
+        double[] dist = prepared.shortestPaths(condensation.getComponentOf(0));
+
+        assertEquals(5.0, dist[condensation.getComponentOf(3)], 1e-9);
+    }
+
+    @Test
+    public void testCycleRejected() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new PreparedDAG(graph));
+    }
+}
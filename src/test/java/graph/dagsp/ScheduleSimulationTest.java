@@ -0,0 +1,150 @@
+package graph.dagsp;
+
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.model.Vertex;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleSimulationTest {
+
+    @Test
+    public void testZeroDurationsMatchCriticalPath() {
+        Graph graph = TestGraphFactory.createTestDAG(60, 0.1);
+        PreparedDAG prepared = new PreparedDAG(graph);
+
+        ScheduleSimulation.SimulationResult result = new ScheduleSimulation(prepared).run(10, 1, 1);
+
+        double expected = prepared.criticalPath().getLength();
+        assertEquals(expected, result.getMin(), 1e-9);
+        assertEquals(expected, result.getMax(), 1e-9);
+        // Ties may pick another path than DAGLongestPath, but one of the same length
+        List<Integer> path = new ArrayList<>();
+        for (int v : prepared.getTopologicalOrder()) {
+            double index = result.getCriticalityIndex(v);
+            assertTrue(index == 0 || index == 1, "criticality of " + v);
+            if (index == 1) {
+                path.add(v);
+            }
+        }
+        double length = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            double lag = Double.NEGATIVE_INFINITY;
+            for (Edge edge : graph.getNeighbors(path.get(i))) {
+                if (edge.getV() == path.get(i + 1)) {
+                    lag = Math.max(lag, edge.getWeight());
+                }
+            }
+            length += lag;
+        }
+        assertEquals(expected, length, 1e-9);
+    }
+
+    @Test
+    public void testFixedDurationsFromVertices() {
+        // 0 -> 1 -> 3 and 0 -> 2 -> 3, with a lag of 1 on 2 -> 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 0);
+        graph.addEdge(2, 3, 1);
+        List<Vertex> tasks = List.of(
+                new Vertex(0, "design", 2),
+                new Vertex(1, "build", 5),
+                new Vertex(2, "order", 3),
+                new Vertex(3, "ship", 1));
+
+        ScheduleSimulation.SimulationResult result = new ScheduleSimulation(graph.toCSR())
+                .setDurations(tasks)
+                .run(100, 7, 2);
+
+        assertEquals(8.0, result.getPercentile(50), 1e-9);
+        assertEquals(0.0, result.getStdDev(), 1e-9);
+        assertArrayEquals(new double[]{1, 1, 0, 1}, result.getCriticalityIndices(), 1e-9);
+    }
+
+    @Test
+    public void testParallelBranchesShareCriticality() {
+        // Two identical uniform branches between a fixed start and end
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 0);
+        graph.addEdge(2, 3, 0);
+        ScheduleSimulation simulation = new ScheduleSimulation(graph.toCSR())
+                .setFixed(0, 1)
+                .setUniform(1, 2, 6)
+                .setUniform(2, 2, 6)
+                .setFixed(3, 1);
+
+        ScheduleSimulation.SimulationResult result = simulation.run(20000, 3, 2);
+
+        assertEquals(1.0, result.getCriticalityIndex(0), 1e-9);
+        assertEquals(1.0, result.getCriticalityIndex(3), 1e-9);
+        assertEquals(0.5, result.getCriticalityIndex(1), 0.02);
+        assertEquals(1.0, result.getCriticalityIndex(1) + result.getCriticalityIndex(2), 1e-9);
+        // The later of two U(2, 6) finishes has mean 2 + 4 * 2/3
+        assertEquals(2 + 2 + 8.0 / 3, result.getMean(), 0.05);
+        assertTrue(result.getMin() >= 4 && result.getMax() <= 8);
+        assertEquals(0.25, result.getProbabilityWithin(6), 0.02);
+    }
+
+    @Test
+    public void testTriangularMomentsAndPercentiles() {
+        Graph graph = new Graph(1, true);
+        ScheduleSimulation simulation = new ScheduleSimulation(graph.toCSR()).setTriangular(0, 1, 2, 6);
+
+        ScheduleSimulation.SimulationResult result = simulation.run(50000, 11, 1);
+
+        assertEquals(3.0, result.getMean(), 0.03);
+        assertTrue(result.getMin() >= 1 && result.getMax() <= 6);
+        // CDF at the mode is (c - a) / (b - a) = 0.2
+        assertEquals(0.2, result.getProbabilityWithin(2), 0.01);
+        assertEquals(2.0, result.getPercentile(20), 0.05);
+        assertTrue(result.getPercentile(10) <= result.getPercentile(50));
+        assertTrue(result.getPercentile(50) <= result.getPercentile(90));
+        assertEquals(result.getMin(), result.getPercentile(0));
+        assertEquals(result.getMax(), result.getPercentile(100));
+    }
+
+    @Test
+    public void testResultDoesNotDependOnParallelism() {
+        Graph graph = TestGraphFactory.createTestDAG(80, 0.08);
+        ScheduleSimulation simulation = new ScheduleSimulation(graph.toCSR());
+        for (int v = 0; v < graph.getN(); v++) {
+            simulation.setTriangular(v, 1, 2 + v % 3, 5 + v % 7);
+        }
+
+        ScheduleSimulation.SimulationResult sequential = simulation.run(10000, 5, 1);
+        ScheduleSimulation.SimulationResult parallel = simulation.run(10000, 5, 4);
+
+        assertArrayEquals(sequential.getCompletionTimes(), parallel.getCompletionTimes());
+        assertArrayEquals(sequential.getCriticalityIndices(), parallel.getCriticalityIndices());
+        assertEquals(10000L * graph.toCSR().getEdgeCount(), parallel.getMetrics().getCounter("edges_relaxed"));
+        assertNotEquals(sequential.getMean(), simulation.run(10000, 6, 1).getMean());
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, 1);
+        ScheduleSimulation simulation = new ScheduleSimulation(graph.toCSR());
+
+        assertThrows(IllegalArgumentException.class, () -> simulation.setUniform(0, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> simulation.setTriangular(0, 1, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> simulation.setFixed(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> simulation.setFixed(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(10, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(10, 1).getPercentile(101));
+
+        Graph cyclic = new Graph(2, true);
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleSimulation(cyclic.toCSR()));
+    }
+}
@@ -0,0 +1,85 @@
+package graph.integration;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PreparedDAG;
+import graph.model.CSRGraph;
+import graph.scc.KosarajuSCC;
+import graph.scc.TarjanSCC;
+import graph.topo.DFSTopologicalSort;
+import graph.topo.KahnTopologicalSort;
+import graph.util.ScalableGraphGenerator;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+// One instance of each engine serves every worker thread at once
+public class ConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void testSharedInstancesAcrossThreadPool() throws Exception {
+        CSRGraph[] graphs = new CSRGraph[THREADS];
+        CSRGraph[] dags = new CSRGraph[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            graphs[i] = new ScalableGraphGenerator(i).erdosRenyi(3000 + 500 * i, 0.0007);
+            dags[i] = new ScalableGraphGenerator(i).erdosRenyiDAG(3000 + 500 * i, 0.002);
+        }
+
+        // Expected results from fresh, single-threaded instances
+        int[] sccCounts = new int[THREADS];
+        double[][] distances = new double[THREADS][];
+        double[] criticalLengths = new double[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            sccCounts[i] = new TarjanSCC().findSCCs(graphs[i]).size();
+            distances[i] = new DAGShortestPath().findShortestPaths(dags[i], 0);
+            criticalLengths[i] = new DAGLongestPath().findCriticalPathAllSources(dags[i]).getLength();
+        }
+
+        TarjanSCC tarjan = new TarjanSCC();
+        KosarajuSCC kosaraju = new KosarajuSCC();
+        KahnTopologicalSort kahn = new KahnTopologicalSort();
+        DFSTopologicalSort dfs = new DFSTopologicalSort();
+        DAGShortestPath shortestPath = new DAGShortestPath();
+        DAGLongestPath longestPath = new DAGLongestPath();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int i = t;
+                futures.add(pool.submit(() -> {
+                    PreparedDAG prepared = new PreparedDAG(dags[i]);
+                    for (int round = 0; round < ROUNDS; round++) {
+                        assertEquals(sccCounts[i], tarjan.findSCCs(graphs[i]).size());
+                        assertEquals(graphs[i].getN(), tarjan.getMetrics().getCounter("dfs_calls"));
+                        assertEquals(sccCounts[i], kosaraju.findSCCs(graphs[i]).size());
+                        assertEquals(sccCounts[i], kosaraju.getMetrics().getCounter("sccs_found"));
+
+                        assertEquals(dags[i].getN(), kahn.topologicalOrder(dags[i]).length);
+                        assertEquals(dags[i].getEdgeCount(), kahn.getMetrics().getCounter("edges_processed"));
+                        assertEquals(dags[i].getN(), dfs.topologicalOrder(dags[i]).length);
+
+                        assertArrayEquals(distances[i], shortestPath.findShortestPaths(dags[i], 0));
+                        int target = dags[i].getN() - 1 - round;
+                        assertEquals(distances[i][target], shortestPath.shortestDistance(dags[i], 0, target));
+                        assertArrayEquals(distances[i], prepared.shortestPaths(0));
+                        assertEquals(criticalLengths[i],
+                                longestPath.findCriticalPathAllSources(dags[i]).getLength(), 1e-9);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
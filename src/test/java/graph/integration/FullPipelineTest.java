@@ -1,8 +1,10 @@
 package graph.integration;
 
 import graph.model.Graph;
+import graph.scc.Condensation;
 import graph.scc.TarjanSCC;
 import graph.topo.KahnTopologicalSort;
+import graph.dagsp.DAGLongestPath;
 import graph.dagsp.DAGShortestPath;
 import org.junit.jupiter.api.Test;
 import java.util.List;
@@ -44,4 +46,41 @@ public class FullPipelineTest {
         assertNotNull(distances);
         assertEquals(condensation.getN(), distances.length);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFusedPipeline() {
+        Graph graph = new Graph(8, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1); // Cycle 1
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(4, 5, 1);
+        graph.addEdge(5, 3, 1); // Cycle 2
+        graph.addEdge(5, 6, 1);
+        graph.addEdge(6, 7, 1);
+
+        // Step 1: SCCs, condensation and topological numbering in one call
+        Condensation condensation = new TarjanSCC().condense(graph);
+        assertEquals(4, condensation.getComponentCount());
+        assertEquals(0, condensation.getComponentOf(0));
+        assertEquals(3, condensation.getComponentOf(7));
+
+        // Step 2: every condensation arc goes forward in id order
+        var dag = condensation.getDag();
+        for (int c = 0; c < dag.getN(); c++) {
+            for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+                assertTrue(c < dag.target(e));
+            }
+        }
+
+        // Step 3: path queries reuse the identity order instead of sorting again
+        int[] order = condensation.getTopologicalOrder();
+        double[] distances = new DAGShortestPath().findShortestPaths(dag, condensation.getComponentOf(0), order);
+        assertArrayEquals(new double[]{0, 1, 2, 3}, distances, 1e-9);
+
+        DAGLongestPath.CriticalPathResult critical = new DAGLongestPath().findCriticalPathAllSources(dag, order);
+        assertEquals(3.0, critical.getLength(), 1e-9);
+        assertEquals(List.of(0, 1, 2, 3), critical.getPath());
+    }
+}
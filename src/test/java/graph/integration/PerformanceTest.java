@@ -3,12 +3,16 @@ package graph.integration;
 import graph.model.Graph;
 import graph.scc.TarjanSCC;
 import graph.scc.KosarajuSCC;
+import graph.scc.ParallelSCC;
 import graph.topo.KahnTopologicalSort;
 import graph.topo.DFSTopologicalSort;
 import graph.dagsp.DAGShortestPath;
 import graph.util.TestGraphFactory;
 import org.junit.jupiter.api.Test;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class PerformanceTest {
 
@@ -36,6 +40,18 @@ public class PerformanceTest {
         assert tarjanSCCs.size() == kosarajuSCCs.size();
     }
 
+    @Test
+    public void compareParallelSCCWithTarjan() {
+        // Speedup is measured by SccBenchmark across its threads parameter;
+        // this only checks that both find the same partition
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(2000, 40);
+
+        List<List<Integer>> tarjanSCCs = new TarjanSCC().findSCCs(graph);
+        List<List<Integer>> parallelSCCs = new ParallelSCC(4, 64).findSCCs(graph);
+
+        assertEquals(asSets(tarjanSCCs), asSets(parallelSCCs));
+    }
+
     @Test
     public void compareTopoAlgorithms() {
         // Generate a DAG for topological sort comparison
@@ -173,4 +189,12 @@ public class PerformanceTest {
                     density, size, sccTime / 1_000_000.0, sccs.size());
         }
     }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            sets.add(new HashSet<>(scc));
+        }
+        return sets;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package graph.metrics;
+
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testSlotsAndNamesShareCounters() {
+        Metrics metrics = new Metrics("Test");
+        int edges = metrics.registerCounter("edges");
+
+        assertEquals(edges, metrics.registerCounter("edges"));
+        metrics.increment(edges);
+        metrics.add(edges, 4);
+        metrics.incrementCounter("edges");
+
+        assertEquals(6, metrics.get(edges));
+        assertEquals(6, metrics.getCounter("edges"));
+        assertEquals(0, metrics.getCounter("missing"));
+    }
+
+    @Test
+    public void testMetricsMapKeepsReportShape() {
+        Metrics metrics = new Metrics("Test");
+        int touched = metrics.registerCounter("touched");
+        metrics.registerCounter("untouched");
+        metrics.increment(touched);
+        metrics.setCounter("explicit_zero", 0);
+        metrics.incrementCounter("by_name");
+
+        Map<String, Object> map = metrics.getMetricsMap();
+
+        assertEquals("Test", map.get("algorithm"));
+        assertTrue(map.containsKey("time_ms"));
+        assertEquals(1L, map.get("touched"));
+        assertEquals(0L, map.get("explicit_zero"));
+        assertEquals(1L, map.get("by_name"));
+        assertFalse(map.containsKey("untouched"));
+        assertEquals(5, map.size());
+    }
+
+    @Test
+    public void testManySlotsGrow() {
+        Metrics metrics = new Metrics("Test");
+        for (int i = 0; i < 50; i++) {
+            metrics.add(metrics.registerCounter("c" + i), i + 1);
+        }
+
+        assertEquals(50, metrics.getCounter("c49"));
+    }
+
+    @Test
+    public void testNewRunKeepsSlotsWithZeroedValues() {
+        Metrics layout = new Metrics("Test");
+        int slot = layout.registerCounter("edges");
+        layout.add(slot, 7);
+
+        Metrics run = layout.newRun();
+        run.increment(slot);
+        run.setCounter("extra", 3);
+
+        assertEquals(1, run.getCounter("edges"));
+        assertEquals(7, layout.getCounter("edges"));
+        assertEquals(0, layout.getCounter("extra"));
+    }
+
+    @Test
+    public void testRunsRegisteringCountersDoNotShareThem() {
+        Metrics layout = new Metrics("Test");
+        int slot = layout.registerCounter("edges");
+        Metrics first = layout.newRun();
+        Metrics second = layout.newRun();
+
+        for (int i = 0; i < 20; i++) {
+            first.setCounter("first" + i, i + 1);
+        }
+        second.incrementCounter("second");
+        int late = layout.registerCounter("late");
+        first.increment(slot);
+
+        assertEquals(1, first.getCounter("edges"));
+        assertEquals(20, first.getCounter("first19"));
+        assertEquals(0, second.getCounter("first19"));
+        assertEquals(1, second.getCounter("second"));
+        assertEquals(0, layout.getCounter("second"));
+        assertEquals(1, late);
+        assertFalse(first.getMetricsMap().containsKey("late"));
+        assertEquals(1, layout.newRun().registerCounter("late"));
+    }
+
+    @Test
+    public void testRunMetricsArePerThread() throws InterruptedException {
+        RunMetrics runMetrics = new RunMetrics("Test");
+        int slot = runMetrics.registerCounter("calls");
+        assertEquals(0, runMetrics.getLast().getCounter("calls"));
+
+        runMetrics.start().add(slot, 5);
+        Thread thread = new Thread(() -> runMetrics.start().add(slot, 100));
+        thread.start();
+        thread.join();
+
+        assertEquals(5, runMetrics.getLast().getCounter("calls"));
+        Metrics next = runMetrics.start();
+        assertSame(next, runMetrics.getLast());
+        assertEquals(0, next.getCounter("calls"));
+    }
+}
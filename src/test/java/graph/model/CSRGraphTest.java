@@ -0,0 +1,165 @@
+package graph.model;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.KosarajuSCC;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+import graph.util.GraphLoader;
+import graph.util.ScalableGraphGenerator;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSRGraphTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMappedSectionsSpanSeveralWindows() throws IOException {
+        CSRGraph graph = new ScalableGraphGenerator(5).erdosRenyiDAG(3000, 0.003);
+        Path file = tempDir.resolve("windows.bin");
+        GraphLoader.saveToBinary(graph, file.toString());
+
+        // 16-entry windows put every section across many mappings
+        MappedCSRGraph mapped = MappedCSRGraph.open(file, 4);
+
+        assertEquals(graph.getEdgeCount(), mapped.getEdgeCount());
+        for (int u = 0; u < graph.getN(); u++) {
+            assertEquals(graph.edgeStart(u), mapped.edgeStart(u));
+            assertEquals(graph.edgeEnd(u), mapped.edgeEnd(u));
+        }
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            assertEquals(graph.target(e), mapped.target(e));
+            assertEquals(graph.weight(e), mapped.weight(e));
+        }
+        CSRGraph copy = mapped.toCSR();
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            assertEquals(graph.target(e), copy.target(e));
+            assertEquals(graph.weight(e), copy.weight(e));
+        }
+        assertEquals(graph.edgeEnd(graph.getN() - 1), copy.edgeEnd(graph.getN() - 1));
+    }
+
+    @Test
+    public void testMappedTransposeIsBuiltOnce() throws IOException {
+        CSRGraph graph = TestGraphFactory.createTestGraphWithSCCs(120, 6).toCSR();
+        Path file = tempDir.resolve("transpose.bin");
+        GraphLoader.saveToBinary(graph, file.toString());
+        MappedCSRGraph mapped = MappedCSRGraph.open(file);
+
+        GraphView reverse = mapped.getTranspose();
+        new KosarajuSCC().findSCCs(mapped);
+
+        assertSame(reverse, mapped.getTranspose());
+        CSRGraph expected = graph.getTranspose();
+        for (int u = 0; u < graph.getN(); u++) {
+            assertEquals(expected.outDegree(u), reverse.outDegree(u));
+        }
+    }
+
+    @Test
+    public void testFromGraphPreservesArcOrder() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(0, 1, 3);
+        graph.addEdge(2, 3, 1);
+
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        assertEquals(4, csr.getN());
+        assertEquals(3, csr.getEdgeCount());
+        assertEquals(2, csr.outDegree(0));
+        assertEquals(2, csr.target(csr.edgeStart(0)));
+        assertEquals(1, csr.target(csr.edgeStart(0) + 1));
+        assertEquals(3.0, csr.weight(csr.edgeStart(0) + 1), 1e-9);
+        assertEquals(0, csr.outDegree(1));
+        assertEquals(0, csr.outDegree(3));
+    }
+
+    @Test
+    public void testFromEdgesUndirected() {
+        int[] src = {0, 1};
+        int[] dst = {1, 2};
+        double[] w = {4, 7};
+
+        CSRGraph csr = CSRGraph.fromEdges(3, false, src, dst, w, 2);
+
+        assertEquals(4, csr.getEdgeCount());
+        assertEquals(1, csr.outDegree(0));
+        assertEquals(2, csr.outDegree(1));
+        assertEquals(0, csr.target(csr.edgeStart(1)));
+        assertEquals(2, csr.target(csr.edgeStart(1) + 1));
+        assertEquals(7.0, csr.weight(csr.edgeStart(2)), 1e-9);
+    }
+
+    @Test
+    public void testInvalidVertexRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                CSRGraph.fromEdges(2, true, new int[]{0}, new int[]{2}, new double[]{1}, 1));
+    }
+
+    @Test
+    public void testTranspose() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(2, 1, 3);
+
+        CSRGraph transpose = graph.toCSR().getTranspose();
+
+        assertEquals(2, transpose.outDegree(1));
+        assertEquals(0, transpose.target(transpose.edgeStart(1)));
+        assertEquals(2, transpose.target(transpose.edgeStart(1) + 1));
+        assertEquals(3.0, transpose.weight(transpose.edgeStart(1) + 1), 1e-9);
+    }
+
+    @Test
+    public void testSnapshotInvalidatedOnAddEdge() {
+        Graph graph = new Graph(2, true);
+        CSRGraph before = graph.toCSR();
+        assertSame(before, graph.toCSR());
+
+        graph.addEdge(0, 1, 1);
+        CSRGraph after = graph.toCSR();
+
+        assertNotSame(before, after);
+        assertEquals(1, after.getEdgeCount());
+    }
+
+    @Test
+    public void testRoundTripToGraph() {
+        Graph graph = TestGraphFactory.createTestMixedGraph(30, 0.2);
+        Graph copy = CSRGraph.fromGraph(graph).toGraph();
+
+        assertEquals(graph.toString(), copy.toString());
+    }
+
+    @Test
+    public void testAlgorithmsAgreeOnCSR() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(60, 6);
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        List<List<Integer>> fromGraph = new TarjanSCC().findSCCs(graph);
+        List<List<Integer>> fromCSR = new TarjanSCC().findSCCs(csr);
+        assertEquals(fromGraph, fromCSR);
+        assertEquals(fromGraph.size(), new KosarajuSCC().findSCCs(csr).size());
+
+        Graph dag = TestGraphFactory.createTestDAG(40, 0.2);
+        assertEquals(new KahnTopologicalSort().topologicalSort(dag),
+                new KahnTopologicalSort().topologicalSort(dag.toCSR()));
+        assertArrayEquals(new DAGShortestPath().findShortestPaths(dag, 0),
+                new DAGShortestPath().findShortestPaths(dag.toCSR(), 0), 1e-9);
+    }
+
+    @Test
+    public void testLoadCSRFromJson() throws Exception {
+        Graph graph = GraphLoader.loadFromJson("data/small_1.json");
+        CSRGraph csr = GraphLoader.loadCSRFromJson("data/small_1.json");
+
+        assertEquals(graph.toString(), csr.toGraph().toString());
+    }
+}
@@ -0,0 +1,83 @@
+package graph.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphBuilderTest {
+
+    @Test
+    public void testMatchesFromEdgesDirected() {
+        assertMatchesFromEdges(true);
+    }
+
+    @Test
+    public void testMatchesFromEdgesUndirected() {
+        assertMatchesFromEdges(false);
+    }
+
+    @Test
+    public void testSmallInputFallsBackToSequential() {
+        int[] src = {0, 1, 1};
+        int[] dst = {1, 2, 0};
+        double[] w = {3, 4, 5};
+        CSRGraph csr = new GraphBuilder(3, true, 4).buildCSR(src, dst, w);
+
+        assertEquals(3, csr.getEdgeCount());
+        assertEquals(2, csr.outDegree(1));
+        assertEquals(2, csr.target(csr.edgeStart(1)));
+        assertEquals(0, csr.target(csr.edgeStart(1) + 1));
+    }
+
+    @Test
+    public void testBuildGraph() {
+        int[] src = {0, 2, 0};
+        int[] dst = {1, 1, 2};
+        double[] w = {1, 2, 3};
+        Graph graph = new GraphBuilder(3, true, 2, 1).buildGraph(src, dst, w);
+
+        assertEquals(2, graph.getNeighbors(0).size());
+        assertEquals(2, graph.getNeighbors(0).get(1).getV());
+        assertEquals(2.0, graph.getNeighbors(2).get(0).getWeight());
+    }
+
+    @Test
+    public void testRejectsInvalidInput() {
+        GraphBuilder builder = new GraphBuilder(3, true, 2, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.buildCSR(new int[]{0, 3}, new int[]{1, 1}, new double[]{1, 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.buildCSR(new int[]{0}, new int[]{1}, new double[]{1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> new GraphBuilder(3, true, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GraphBuilder(3, true, 2, -1));
+    }
+
+    private static void assertMatchesFromEdges(boolean directed) {
+        int n = 5000;
+        int m = 200_000;
+        SplittableRandom random = new SplittableRandom(17);
+        int[] src = new int[m];
+        int[] dst = new int[m];
+        double[] w = new double[m];
+        for (int i = 0; i < m; i++) {
+            // Skewed sources so the scatter ranges hold very different vertex counts
+            src[i] = random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(n);
+            dst[i] = random.nextInt(n);
+            w[i] = i;
+        }
+
+        CSRGraph expected = CSRGraph.fromEdges(n, directed, src, dst, w, m);
+        CSRGraph actual = new GraphBuilder(n, directed, 4, 1).buildCSR(src, dst, w);
+
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int u = 0; u <= n; u++) {
+            assertEquals(u < n ? expected.edgeStart(u) : expected.getEdgeCount(),
+                    u < n ? actual.edgeStart(u) : actual.getEdgeCount());
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+        }
+    }
+}
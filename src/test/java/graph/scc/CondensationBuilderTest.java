@@ -0,0 +1,89 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CondensationBuilderTest {
+
+    private static Graph twoCyclesWithParallelArcs() {
+        Graph graph = new Graph(5, true);
+        // SCC A: 0-1, SCC B: 2-3, vertex 4 alone
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 2, 1);
+        // Three arcs from A to B
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(1, 3, 2);
+        graph.addEdge(1, 2, 7);
+        graph.addEdge(3, 4, 4);
+        return graph;
+    }
+
+    @Test
+    public void testMergePolicies() {
+        Graph graph = twoCyclesWithParallelArcs();
+        TarjanSCC tarjan = new TarjanSCC();
+
+        CSRGraph min = tarjan.condense(graph.toCSR(),
+                new CondensationBuilder(CondensationBuilder.WeightPolicy.MIN, 2)).getDag();
+        CSRGraph max = tarjan.condense(graph.toCSR(),
+                new CondensationBuilder(CondensationBuilder.WeightPolicy.MAX, 2)).getDag();
+        CSRGraph sum = tarjan.condense(graph.toCSR(),
+                new CondensationBuilder(CondensationBuilder.WeightPolicy.SUM, 2)).getDag();
+
+        assertEquals(2, min.getEdgeCount());
+        assertEquals(1, min.outDegree(0));
+        assertEquals(1, min.target(min.edgeStart(0)));
+        assertEquals(2.0, min.weight(min.edgeStart(0)), 1e-9);
+        assertEquals(7.0, max.weight(max.edgeStart(0)), 1e-9);
+        assertEquals(14.0, sum.weight(sum.edgeStart(0)), 1e-9);
+        assertEquals(4.0, sum.weight(sum.edgeStart(1)), 1e-9);
+    }
+
+    @Test
+    public void testMatchesDistinctPairsOfMultigraph() {
+        Graph graph = TestGraphFactory.createTestMixedGraph(300, 0.01);
+        TarjanSCC tarjan = new TarjanSCC();
+        Condensation multigraph = tarjan.condense(graph);
+
+        Map<Long, Double> expected = new HashMap<>();
+        CSRGraph multi = multigraph.getDag();
+        for (int c = 0; c < multi.getN(); c++) {
+            for (int e = multi.edgeStart(c); e < multi.edgeEnd(c); e++) {
+                expected.merge(((long) c << 32) | multi.target(e), multi.weight(e), Math::min);
+            }
+        }
+
+        CSRGraph dag = new CondensationBuilder(CondensationBuilder.WeightPolicy.MIN, 4)
+                .build(graph.toCSR(), multigraph.getComponentOf(), multigraph.getComponentCount());
+
+        assertEquals(expected.size(), dag.getEdgeCount());
+        for (int c = 0; c < dag.getN(); c++) {
+            int previous = -1;
+            for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+                assertTrue(dag.target(e) > previous);
+                previous = dag.target(e);
+                assertEquals(expected.get(((long) c << 32) | dag.target(e)), dag.weight(e), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testSingleComponent() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+
+        CSRGraph dag = new TarjanSCC().condense(graph.toCSR(),
+                new CondensationBuilder(CondensationBuilder.WeightPolicy.SUM)).getDag();
+
+        assertEquals(1, dag.getN());
+        assertEquals(0, dag.getEdgeCount());
+    }
+}
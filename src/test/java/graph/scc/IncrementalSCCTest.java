@@ -0,0 +1,124 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSCCTest {
+
+    @Test
+    public void testCycleClosesOnLastEdge() {
+        IncrementalSCC scc = new IncrementalSCC(4);
+        scc.addEdge(0, 1, 1);
+        scc.addEdge(1, 2, 1);
+        assertEquals(4, scc.getComponentCount());
+
+        scc.addEdge(2, 0, 1);
+        assertEquals(2, scc.getComponentCount());
+        assertTrue(scc.sameComponent(0, 2));
+        assertFalse(scc.sameComponent(0, 3));
+        assertArrayEquals(new int[]{0, 1, 2}, scc.getComponent(1));
+        assertEquals(2, scc.getMetrics().getCounter("merges"));
+    }
+
+    @Test
+    public void testBackwardEdgeWithoutCycleReorders() {
+        IncrementalSCC scc = new IncrementalSCC(3);
+        scc.addEdge(2, 0, 1);
+        scc.addEdge(1, 2, 1);
+
+        assertEquals(3, scc.getComponentCount());
+        int[] order = scc.getTopologicalOrder();
+        assertArrayEquals(new int[]{1, 2, 0}, order);
+    }
+
+    @Test
+    public void testMatchesTarjanAfterEachBatch() {
+        int n = 400;
+        Graph graph = new Graph(n, true);
+        IncrementalSCC scc = new IncrementalSCC(n);
+        SplittableRandom random = new SplittableRandom(9);
+
+        for (int batch = 0; batch < 8; batch++) {
+            for (int i = 0; i < 60; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                graph.addEdge(u, v, 1);
+                scc.addEdge(u, v, 1);
+            }
+            assertConsistent(graph.toCSR(), scc);
+        }
+    }
+
+    @Test
+    public void testStartsFromExistingGraph() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(120, 10);
+        IncrementalSCC scc = new IncrementalSCC(graph);
+        assertConsistent(graph.toCSR(), scc);
+
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 40; i++) {
+            int u = random.nextInt(120);
+            int v = random.nextInt(120);
+            graph.addEdge(u, v, 2);
+            scc.addEdge(u, v, 2);
+            assertConsistent(graph.toCSR(), scc);
+        }
+    }
+
+    @Test
+    public void testCondensationSnapshot() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(80, 6);
+        IncrementalSCC scc = new IncrementalSCC(80);
+        for (int u = 0; u < 80; u++) {
+            for (graph.model.Edge edge : graph.getNeighbors(u)) {
+                scc.addEdge(u, edge.getV(), edge.getWeight());
+            }
+        }
+
+        Condensation expected = new TarjanSCC().condense(graph);
+        Condensation actual = scc.toCondensation();
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        assertEquals(expected.getDag().getEdgeCount(), actual.getDag().getEdgeCount());
+        CSRGraph dag = actual.getDag();
+        for (int c = 0; c < dag.getN(); c++) {
+            for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+                assertTrue(c < dag.target(e));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidVertex() {
+        IncrementalSCC scc = new IncrementalSCC(3);
+        assertThrows(IllegalArgumentException.class, () -> scc.addEdge(0, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> scc.getRepresentative(-1));
+    }
+
+    // Same partition as Tarjan, and every arc respects the maintained order
+    private static void assertConsistent(CSRGraph graph, IncrementalSCC scc) {
+        SccResult expected = new TarjanSCC().decompose(graph);
+        assertEquals(expected.getComponentCount(), scc.getComponentCount());
+        for (int v = 0; v < graph.getN(); v++) {
+            int first = expected.getMembers()[expected.getOffsets()[expected.getComponentOf(v)]];
+            assertTrue(scc.sameComponent(v, first));
+        }
+
+        int[] position = new int[graph.getN()];
+        int[] order = scc.getTopologicalOrder();
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (int u = 0; u < graph.getN(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int cu = scc.getRepresentative(u);
+                int cv = scc.getRepresentative(graph.target(e));
+                assertTrue(cu == cv || position[cu] < position[cv]);
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
+import graph.util.TestGraphFactory;
 import org.junit.jupiter.api.Test;
-import java.util.List;
+import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class KosarajuSCCTest {
@@ -63,4 +65,74 @@ public class KosarajuSCCTest {
             assertEquals(1, scc.size());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLongChainKosaraju() {
+        int n = 500_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < n - 1; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+
+        List<List<Integer>> sccs = new KosarajuSCC().findSCCs(graph);
+
+        assertEquals(n, sccs.size());
+        // Components come out in topological order of the condensation
+        assertEquals(List.of(0), sccs.get(0));
+    }
+
+    @Test
+    public void testMatchesTarjanKosaraju() {
+        Graph graph = TestGraphFactory.createTestMixedGraph(200, 0.02);
+
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (List<Integer> scc : new TarjanSCC().findSCCs(graph)) {
+            expected.add(new HashSet<>(scc));
+        }
+        Set<Set<Integer>> actual = new HashSet<>();
+        for (List<Integer> scc : new KosarajuSCC().findSCCs(graph)) {
+            actual.add(new HashSet<>(scc));
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testReverseAdjacencyReused() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+
+        KosarajuSCC kosaraju = new KosarajuSCC();
+        kosaraju.findSCCs(graph);
+        CSRGraph reverse = graph.toCSR().getTranspose();
+        kosaraju.findSCCs(graph);
+
+        assertSame(reverse, graph.toCSR().getTranspose());
+    }
+
+    @Test
+    public void testFindSCCsFromOnlyTouchesReachableVertices() {
+        Graph graph = new Graph(7, true);
+        // 0 -> {1,2 cycle} -> 3; 4 <-> 5 unreachable from 0, 6 isolated
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(4, 5, 1);
+        graph.addEdge(5, 4, 1);
+        graph.addEdge(5, 0, 1);
+
+        KosarajuSCC kosaraju = new KosarajuSCC();
+        List<List<Integer>> fromZero = kosaraju.findSCCsFrom(graph.toCSR(), 0);
+        assertEquals(3, fromZero.size());
+        assertEquals(List.of(0), fromZero.get(0));
+        assertEquals(Set.of(1, 2), new HashSet<>(fromZero.get(1)));
+        assertEquals(List.of(3), fromZero.get(2));
+
+        assertEquals(4, kosaraju.findSCCsFrom(graph.toCSR(), 5).size());
+        assertEquals(List.of(List.of(6)), kosaraju.findSCCsFrom(graph.toCSR(), 6));
+        assertEquals(5, kosaraju.findSCCs(graph).size());
+    }
+}
@@ -0,0 +1,138 @@
+package graph.scc;
+
+import graph.model.Graph;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSCCTest {
+
+    @Test
+    public void testSimpleCycleParallel() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 1);
+
+        List<List<Integer>> sccs = new ParallelSCC(2).findSCCs(graph);
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3)), sccs);
+    }
+
+    @Test
+    public void testTrimHandlesChain() {
+        Graph graph = new Graph(1000, true);
+        for (int i = 0; i < 999; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+
+        ParallelSCC parallel = new ParallelSCC(4);
+        List<List<Integer>> sccs = parallel.findSCCs(graph);
+
+        assertEquals(1000, sccs.size());
+        assertEquals(1000, parallel.getMetrics().getCounter("trimmed_vertices"));
+    }
+
+    @Test
+    public void testSelfLoopIsSingletonComponent() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 0, 1);
+        graph.addEdge(0, 1, 1);
+
+        List<List<Integer>> sccs = new ParallelSCC(2, 1).findSCCs(graph);
+
+        assertEquals(List.of(List.of(0), List.of(1)), sccs);
+    }
+
+    @Test
+    public void testMatchesTarjanWithForwardBackwardSplits() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(300, 12);
+        // Sprinkle sparse extra arcs so some components merge and trimming has work
+        Graph mixed = TestGraphFactory.createTestMixedGraph(300, 0.004);
+        for (int u = 0; u < mixed.getN(); u++) {
+            for (var edge : mixed.getNeighbors(u)) {
+                graph.addEdge(u, edge.getV(), edge.getWeight());
+            }
+        }
+
+        ParallelSCC parallel = new ParallelSCC(4, 8);
+        Set<Set<Integer>> actual = asSets(parallel.findSCCs(graph));
+        Set<Set<Integer>> expected = asSets(new TarjanSCC().findSCCs(graph));
+
+        assertEquals(expected, actual);
+        assertTrue(parallel.getMetrics().getCounter("fwbw_splits") > 0);
+    }
+
+    @Test
+    public void testLongChainOfCyclesAboveThreshold() {
+        // 20000 two-cycles in a row: every split used to peel off one SCC
+        int cycles = 20000;
+        Graph graph = new Graph(2 * cycles, true);
+        for (int i = 0; i < cycles; i++) {
+            graph.addEdge(2 * i, 2 * i + 1, 1);
+            graph.addEdge(2 * i + 1, 2 * i, 1);
+            if (i + 1 < cycles) {
+                graph.addEdge(2 * i + 1, 2 * i + 2, 1);
+            }
+        }
+
+        ParallelSCC parallel = new ParallelSCC(4);
+        List<List<Integer>> sccs = parallel.findSCCs(graph);
+
+        assertEquals(cycles, sccs.size());
+        assertEquals(asSets(new TarjanSCC().findSCCs(graph)), asSets(sccs));
+        assertTrue(parallel.getMetrics().getCounter("fwbw_splits") > 0);
+    }
+
+    @Test
+    public void testManyDisconnectedCyclesFallBackToTarjan() {
+        int cycles = 10000;
+        Graph graph = new Graph(3 * cycles, true);
+        for (int i = 0; i < cycles; i++) {
+            graph.addEdge(3 * i, 3 * i + 1, 1);
+            graph.addEdge(3 * i + 1, 3 * i + 2, 1);
+            graph.addEdge(3 * i + 2, 3 * i, 1);
+        }
+
+        ParallelSCC parallel = new ParallelSCC(4, 64);
+        List<List<Integer>> sccs = parallel.findSCCs(graph);
+
+        assertEquals(asSets(new TarjanSCC().findSCCs(graph)), asSets(sccs));
+        // Splits that shed a single small SCC stop after a few tries
+        assertTrue(parallel.getMetrics().getCounter("fwbw_splits") < 100);
+    }
+
+    @Test
+    public void testRunsOnCallerPool() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(200, 10);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            ParallelSCC parallel = new ParallelSCC(pool, 16);
+
+            assertEquals(3, parallel.getParallelism());
+            assertEquals(asSets(new TarjanSCC().findSCCs(graph)), asSets(parallel.findSCCs(graph)));
+            // The pool is reused, not shut down, between calls
+            assertEquals(asSets(parallel.findSCCs(graph)), asSets(parallel.findSCCs(graph)));
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSCC(0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSCC(2, 0));
+    }
+
+    private static Set<Set<Integer>> asSets(List<List<Integer>> sccs) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            sets.add(new HashSet<>(scc));
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,107 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.ScalableGraphGenerator;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReachabilityIndexTest {
+
+    @Test
+    public void testChainAndCycle() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+
+        ReachabilityIndex index = ReachabilityIndex.build(graph);
+
+        assertTrue(index.usesClosure());
+        assertTrue(index.reaches(0, 3));
+        assertTrue(index.reaches(1, 0));
+        assertTrue(index.reaches(4, 4));
+        assertFalse(index.reaches(3, 0));
+        assertFalse(index.reaches(0, 4));
+    }
+
+    @Test
+    public void testClosureMatchesBfs() {
+        CSRGraph graph = TestGraphFactory.createTestGraphWithSCCs(200, 20).toCSR();
+        assertMatchesBfs(graph, ReachabilityIndex.build(graph));
+    }
+
+    @Test
+    public void testLabelsMatchBfs() {
+        CSRGraph graph = TestGraphFactory.createTestMixedGraph(300, 0.02).toCSR();
+        ReachabilityIndex index = ReachabilityIndex.build(graph, 2, 0, 5);
+
+        assertFalse(index.usesClosure());
+        assertEquals(2, index.getLabelCount());
+        assertMatchesBfs(graph, index);
+    }
+
+    @Test
+    public void testLabelsOnSparseDag() {
+        CSRGraph dag = new ScalableGraphGenerator(3).erdosRenyiDAG(400, 0.004);
+        ReachabilityIndex index = ReachabilityIndex.build(dag, 3, 0, 11);
+
+        assertMatchesBfs(dag, index);
+        // Labels alone settle a large share of the negative queries
+        assertTrue(index.getQueryMetrics().getCounter("label_rejected") > 0);
+        assertTrue(index.getQueryMetrics().getCounter("searches")
+                < index.getQueryMetrics().getCounter("queries") / 2);
+    }
+
+    @Test
+    public void testReportsBuildStats() {
+        CSRGraph dag = new ScalableGraphGenerator(3).erdosRenyiDAG(500, 0.01);
+        ReachabilityIndex index = ReachabilityIndex.build(dag, 2, 0, 1);
+
+        assertTrue(index.getBuildTime() > 0);
+        assertEquals(2L * 4 * 2 * 500, index.getIndexBytes());
+        assertTrue(index.getMemoryBytes() > index.getIndexBytes());
+        assertEquals(500, index.getBuildMetrics().getCounter("components"));
+        assertEquals(index.getMemoryBytes(), index.getBuildMetrics().getCounter("memory_bytes"));
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        Graph graph = new Graph(2, true);
+        assertThrows(IllegalArgumentException.class, () -> ReachabilityIndex.build(graph.toCSR(), 0, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> ReachabilityIndex.build(graph.toCSR(), 1, -1, 1));
+    }
+
+    private static void assertMatchesBfs(CSRGraph graph, ReachabilityIndex index) {
+        int n = graph.getN();
+        for (int u = 0; u < n; u++) {
+            boolean[] reached = bfs(graph, u);
+            for (int v = 0; v < n; v++) {
+                assertEquals(reached[v], index.reaches(u, v), "reach(" + u + ", " + v + ")");
+            }
+        }
+    }
+
+    private static boolean[] bfs(CSRGraph graph, int source) {
+        boolean[] reached = new boolean[graph.getN()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        reached[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                if (!reached[v]) {
+                    reached[v] = true;
+                    queue.add(v);
+                }
+            }
+        }
+        return reached;
+    }
+}
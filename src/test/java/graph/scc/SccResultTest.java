@@ -0,0 +1,145 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SccResultTest {
+
+    @Test
+    public void testFromComponentIds() {
+        SccResult result = SccResult.fromComponentIds(new int[]{1, 0, 1, 2, 0}, 3);
+
+        assertEquals(5, result.getVertexCount());
+        assertEquals(3, result.getComponentCount());
+        assertArrayEquals(new int[]{1, 4}, result.getComponent(0));
+        assertArrayEquals(new int[]{0, 2}, result.getComponent(1));
+        assertArrayEquals(new int[]{3}, result.getComponent(2));
+        assertArrayEquals(new int[]{0, 2, 4, 5}, result.getOffsets());
+        assertEquals(2, result.getComponentSize(1));
+        assertTrue(result.sameComponent(0, 2));
+        assertFalse(result.sameComponent(0, 1));
+    }
+
+    @Test
+    public void testListViewMatchesArrays() {
+        SccResult result = SccResult.fromComponentIds(new int[]{1, 0, 1, 2, 0}, 3);
+        List<List<Integer>> lists = result.asLists();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 4), Arrays.asList(0, 2), Arrays.asList(3)), lists);
+        assertSame(lists, result.asLists());
+        assertThrows(UnsupportedOperationException.class, () -> lists.get(0).add(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> lists.get(2).get(1));
+    }
+
+    @Test
+    public void testFindSCCsReturnsMutableLists() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+
+        for (List<List<Integer>> sccs : List.of(new TarjanSCC().findSCCs(graph),
+                new KosarajuSCC().findSCCs(graph), new ParallelSCC(2).findSCCs(graph))) {
+            sccs.sort((a, b) -> Integer.compare(b.size(), a.size()));
+            sccs.get(0).sort(Collections.reverseOrder());
+            assertEquals(Arrays.asList(1, 0), sccs.get(0));
+            sccs.remove(sccs.size() - 1);
+            assertEquals(2, sccs.size());
+        }
+    }
+
+    @Test
+    public void testDefaultDecomposeBuildsFromFindSCCs() {
+        // An outside implementation that only knows findSCCs
+        StronglyConnectedComponents legacy = new StronglyConnectedComponents() {
+            @Override
+            public List<List<Integer>> findSCCs(Graph graph) {
+                return Arrays.asList(Arrays.asList(2), Arrays.asList(1, 0));
+            }
+
+            @Override
+            public Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> sccs) {
+                return originalGraph;
+            }
+        };
+
+        SccResult result = legacy.decompose(new Graph(3, true));
+
+        assertEquals(2, result.getComponentCount());
+        assertArrayEquals(new int[]{2}, result.getComponent(0));
+        assertArrayEquals(new int[]{0, 1}, result.getComponent(1));
+        assertTrue(result.sameComponent(0, 1));
+    }
+
+    @Test
+    public void testReversedRenumbersComponents() {
+        SccResult result = SccResult.fromComponentIds(new int[]{1, 0, 1, 2, 0}, 3).reversed();
+
+        assertArrayEquals(new int[]{3}, result.getComponent(0));
+        assertArrayEquals(new int[]{0, 2}, result.getComponent(1));
+        assertArrayEquals(new int[]{1, 4}, result.getComponent(2));
+        assertEquals(0, result.getComponentOf(3));
+        assertEquals(2, result.getComponentOf(4));
+    }
+
+    @Test
+    public void testFromComponentsRoundTrip() {
+        List<List<Integer>> components = new ArrayList<>();
+        components.add(Arrays.asList(2, 0));
+        components.add(Arrays.asList(1));
+        SccResult result = SccResult.fromComponents(3, components);
+
+        assertEquals(components, result.asLists());
+        assertArrayEquals(new int[]{0, 1, 0}, result.getComponentOf());
+    }
+
+    @Test
+    public void testRejectsInconsistentArrays() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SccResult(new int[]{0, 0}, new int[]{0, 1}, new int[]{0, 1}));
+    }
+
+    @Test
+    public void testDecomposeAgreesAcrossAlgorithms() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(300, 12);
+        CSRGraph csr = graph.toCSR();
+
+        SccResult tarjan = new TarjanSCC().decompose(csr);
+        SccResult kosaraju = new KosarajuSCC().decompose(csr);
+        SccResult parallel = new ParallelSCC(4, 16).decompose(csr);
+
+        assertEquals(tarjan.getComponentCount(), kosaraju.getComponentCount());
+        assertEquals(tarjan.getComponentCount(), parallel.getComponentCount());
+        for (int u = 0; u < csr.getN(); u++) {
+            for (int v = 0; v < csr.getN(); v += 7) {
+                boolean same = tarjan.sameComponent(u, v);
+                assertEquals(same, kosaraju.sameComponent(u, v));
+                assertEquals(same, parallel.sameComponent(u, v));
+            }
+        }
+        assertEquals(new TarjanSCC().findSCCs(csr), tarjan.asLists());
+    }
+
+    @Test
+    public void testCondensationExposesResult() {
+        Graph graph = TestGraphFactory.createTestGraphWithSCCs(60, 5);
+        Condensation condensation = new TarjanSCC().condense(graph);
+        SccResult result = condensation.getSccResult();
+
+        for (int c = 0; c < condensation.getComponentCount(); c++) {
+            int[] members = condensation.getMembers(c);
+            assertEquals(condensation.getComponent(c).size(), members.length);
+            for (int v : members) {
+                assertEquals(c, result.getComponentOf(v));
+            }
+        }
+    }
+}
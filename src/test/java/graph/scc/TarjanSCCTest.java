@@ -1,6 +1,10 @@
 package graph.scc;
 
+import graph.model.CSRGraph;
 import graph.model.Graph;
+import graph.topo.KahnTopologicalSort;
+import graph.util.TestGraphFactory;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,4 +57,106 @@ public class TarjanSCCTest {
 
         assertEquals(4, sccs.size()); // Each vertex is its own SCC in a DAG
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLongChainDoesNotOverflowStack() {
+        int n = 1_000_000;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            offsets[i + 1] = i + 1;
+            targets[i] = i + 1;
+        }
+        offsets[n] = n - 1;
+        CSRGraph chain = new CSRGraph(n, true, offsets, targets, new double[n - 1]);
+
+        TarjanSCC tarjan = new TarjanSCC();
+        List<List<Integer>> sccs = tarjan.findSCCs(chain);
+
+        assertEquals(n, sccs.size());
+        // Reverse topological order: the sink is emitted first
+        assertEquals(List.of(n - 1), sccs.get(0));
+        assertEquals(List.of(0), sccs.get(n - 1));
+        assertEquals(n, tarjan.getMetrics().getCounter("dfs_calls"));
+        assertEquals(n - 1, tarjan.getMetrics().getCounter("edges_visited"));
+    }
+
+    // Full size from the request; excluded by default, run with -Plarge-tests
+    @Test
+    @Tag("large")
+    public void testTenMillionVertexChain() {
+        int n = 10_000_000;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            offsets[i + 1] = i + 1;
+            targets[i] = i + 1;
+        }
+        offsets[n] = n - 1;
+        CSRGraph chain = new CSRGraph(n, true, offsets, targets, new double[n - 1]);
+
+        TarjanSCC tarjan = new TarjanSCC();
+        SccResult sccs = tarjan.decompose(chain);
+
+        assertEquals(n, sccs.getComponentCount());
+        assertEquals(0, sccs.getComponentOf(n - 1));
+        assertEquals(n - 1, sccs.getComponentOf(0));
+        assertEquals(n, tarjan.getMetrics().getCounter("dfs_calls"));
+        TarjanSCC.releaseWorkspace();
+    }
+
+    @Test
+    public void testLongCycleIsSingleComponent() {
+        int n = 200_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < n; i++) {
+            graph.addEdge(i, (i + 1) % n, 1);
+        }
+
+        List<List<Integer>> sccs = new TarjanSCC().findSCCs(graph);
+
+        assertEquals(1, sccs.size());
+        assertEquals(n, sccs.get(0).size());
+    }
+
+    @Test
+    public void testCondenseNumbersComponentsTopologically() {
+        Graph graph = TestGraphFactory.createTestMixedGraph(150, 0.01);
+
+        TarjanSCC tarjan = new TarjanSCC();
+        Condensation condensation = tarjan.condense(graph);
+
+        int k = condensation.getComponentCount();
+        assertEquals(tarjan.findSCCs(graph).size(), k);
+        assertEquals(tarjan.buildCondensationGraph(graph, tarjan.findSCCs(graph)).toCSR().getEdgeCount(),
+                condensation.getDag().getEdgeCount());
+        for (int u = 0; u < graph.getN(); u++) {
+            assertTrue(condensation.getComponent(condensation.getComponentOf(u)).contains(u));
+            for (var edge : graph.getNeighbors(u)) {
+                assertTrue(condensation.getComponentOf(u) <= condensation.getComponentOf(edge.getV()));
+            }
+        }
+        // The DAG is acyclic, so Kahn accepts it
+        assertEquals(k, new KahnTopologicalSort().topologicalOrder(condensation.getDag()).length);
+    }
+
+    @Test
+    public void testFindSCCsFromReachablePart() {
+        CSRGraph graph = TestGraphFactory.createTestGraphWithSCCs(120, 6).toCSR();
+        TarjanSCC tarjan = new TarjanSCC();
+        List<List<Integer>> all = tarjan.findSCCs(graph);
+
+        // Repeated queries reuse the thread's workspace; each must see fresh state
+        for (int source = 0; source < graph.getN(); source += 7) {
+            List<List<Integer>> fromSource = tarjan.findSCCsFrom(graph, source);
+            int touched = 0;
+            for (List<Integer> scc : fromSource) {
+                assertTrue(all.stream().anyMatch(c -> c.size() == scc.size() && c.containsAll(scc)));
+                touched += scc.size();
+            }
+            assertEquals(new KosarajuSCC().findSCCsFrom(graph, source).size(), fromSource.size());
+            assertTrue(touched <= graph.getN());
+        }
+        assertEquals(all.size(), tarjan.findSCCs(graph).size());
+    }
+}
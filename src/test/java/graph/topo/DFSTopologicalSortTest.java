@@ -44,4 +44,35 @@ public class DFSTopologicalSortTest {
         assertTrue(order.indexOf(2) < order.indexOf(3));
         assertTrue(order.indexOf(3) < order.indexOf(4));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLongChainDoesNotOverflowStack() {
+        int n = 500_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+
+        int[] order = new DFSTopologicalSort().topologicalOrder(graph.toCSR());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, order[i]);
+        }
+    }
+
+    @Test
+    public void testTopologicalOrderFrom() {
+        Graph graph = new Graph(6, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(4, 0, 1);
+        graph.addEdge(4, 5, 1);
+
+        DFSTopologicalSort dfsTopo = new DFSTopologicalSort();
+        assertArrayEquals(new int[]{2, 1, 3}, dfsTopo.topologicalOrderFrom(graph.toCSR(), 2));
+        int[] fromZero = dfsTopo.topologicalOrderFrom(graph.toCSR(), 0);
+        assertArrayEquals(new int[]{0, 2, 1, 3}, fromZero);
+        assertEquals(6, dfsTopo.topologicalOrderFrom(graph.toCSR(), 4).length);
+    }
+}
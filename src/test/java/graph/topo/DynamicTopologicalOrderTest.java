@@ -0,0 +1,132 @@
+package graph.topo;
+
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.PreparedDAG;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.ScalableGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicTopologicalOrderTest {
+
+    @Test
+    public void testBackwardEdgeReorders() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(4);
+        order.addEdge(3, 1, 1);
+        order.addEdge(1, 0, 1);
+
+        assertTrue(order.precedes(3, 1));
+        assertTrue(order.precedes(1, 0));
+        assertValid(order);
+        assertEquals(2, order.getMetrics().getCounter("reorders"));
+    }
+
+    @Test
+    public void testCycleRejectedWithWitness() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(5);
+        order.addEdge(0, 1, 1);
+        order.addEdge(1, 2, 1);
+        order.addEdge(2, 3, 1);
+        int[] before = order.getOrder();
+
+        CycleDetectedException e = assertThrows(CycleDetectedException.class, () -> order.addEdge(3, 0, 1));
+        assertEquals(Arrays.asList(3, 0, 1, 2), e.getCycle());
+        assertArrayEquals(before, order.getOrder());
+        assertEquals(3, order.getEdgeCount());
+    }
+
+    @Test
+    public void testSelfLoopRejected() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(2);
+        CycleDetectedException e = assertThrows(CycleDetectedException.class, () -> order.addEdge(1, 1, 1));
+        assertEquals(List.of(1), e.getCycle());
+        assertTrue(e instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testRandomInsertionsStayValid() {
+        int n = 300;
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(n);
+        SplittableRandom random = new SplittableRandom(5);
+        int rejected = 0;
+        for (int i = 0; i < 1500; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            try {
+                order.addEdge(u, v, 1);
+            } catch (CycleDetectedException e) {
+                rejected++;
+                assertWitnessIsCycle(order.toCSR(), e.getCycle(), u, v);
+            }
+        }
+        assertTrue(rejected > 0);
+        assertEquals(1500 - rejected, order.getEdgeCount());
+        assertValid(order);
+    }
+
+    @Test
+    public void testStartsFromDagAndFeedsShortestPaths() {
+        CSRGraph dag = new ScalableGraphGenerator(3).erdosRenyiDAG(200, 0.02);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(dag);
+        // An arc into a sink never closes a cycle, wherever the sink is placed
+        int sink = 0;
+        while (dag.outDegree(sink) > 0) {
+            sink++;
+        }
+        order.addEdge(150, sink, 1);
+        assertValid(order);
+
+        CSRGraph snapshot = order.toCSR();
+        double[] expected = new DAGShortestPath().findShortestPaths(snapshot, 150);
+        assertArrayEquals(expected, new DAGShortestPath().findShortestPaths(snapshot, 150, order.getOrder()));
+        assertArrayEquals(expected, PreparedDAG.of(order).shortestPaths(150));
+    }
+
+    @Test
+    public void testStartsFromUnorderedIds() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(1, 0, 1);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+        assertArrayEquals(new int[]{2, 1, 0}, order.getOrder());
+
+        graph.addEdge(0, 2, 1);
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(graph));
+    }
+
+    private static void assertValid(DynamicTopologicalOrder order) {
+        CSRGraph graph = order.toCSR();
+        int[] seen = order.getOrder().clone();
+        Arrays.sort(seen);
+        for (int i = 0; i < seen.length; i++) {
+            assertEquals(i, seen[i]);
+        }
+        for (int u = 0; u < graph.getN(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                assertTrue(order.precedes(u, graph.target(e)), u + " -> " + graph.target(e));
+            }
+        }
+    }
+
+    private static void assertWitnessIsCycle(CSRGraph graph, List<Integer> cycle, int u, int v) {
+        assertEquals(u, (int) cycle.get(0));
+        if (cycle.size() > 1) {
+            assertEquals(v, (int) cycle.get(1));
+        }
+        // Every consecutive pair after the new arc is an existing arc, closing back at u
+        for (int i = 1; i < cycle.size(); i++) {
+            int from = cycle.get(i);
+            int to = cycle.get((i + 1) % cycle.size());
+            boolean found = false;
+            for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e++) {
+                found |= graph.target(e) == to;
+            }
+            assertTrue(found, from + " -> " + to);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.util.ScalableGraphGenerator;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelKahnTopologicalSortTest {
+
+    // Every arc goes to a later level, and every non-source vertex has a
+    // predecessor in the level right before its own
+    private static void assertValidLevels(CSRGraph graph, ParallelKahnTopologicalSort.LevelOrder result) {
+        int n = graph.getN();
+        int[] order = result.getOrder();
+        int[] offsets = result.getLevelOffsets();
+        assertEquals(n, order.length);
+        assertEquals(0, offsets[0]);
+        assertEquals(n, offsets[offsets.length - 1]);
+
+        int[] levelOf = new int[n];
+        for (int level = 0; level < result.getLevelCount(); level++) {
+            for (int i = offsets[level]; i < offsets[level + 1]; i++) {
+                levelOf[order[i]] = level;
+            }
+        }
+        int[] maxPredecessorLevel = new int[n];
+        Arrays.fill(maxPredecessorLevel, -1);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                assertTrue(levelOf[u] < levelOf[v], "arc " + u + "->" + v);
+                maxPredecessorLevel[v] = Math.max(maxPredecessorLevel[v], levelOf[u]);
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            assertEquals(levelOf[v] - 1, maxPredecessorLevel[v]);
+        }
+    }
+
+    @Test
+    public void testDiamondLevels() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(4, 3, 1);
+
+        ParallelKahnTopologicalSort.LevelOrder result = new ParallelKahnTopologicalSort(2).sort(graph);
+
+        assertArrayEquals(new int[]{0, 4, 1, 2, 3}, result.getOrder());
+        assertArrayEquals(new int[]{0, 2, 4, 5}, result.getLevelOffsets());
+        assertArrayEquals(new int[]{1, 2}, result.getLevel(1));
+        assertEquals(2, result.getMaxWidth());
+    }
+
+    @Test
+    public void testLayeredDAGWavefronts() {
+        int layers = 50;
+        int width = 4000;
+        CSRGraph dag = new ScalableGraphGenerator(3).layeredDAG(layers, width, 3);
+
+        ParallelKahnTopologicalSort sort = new ParallelKahnTopologicalSort(4, 256);
+        ParallelKahnTopologicalSort.LevelOrder result = sort.sort(dag);
+
+        assertValidLevels(dag, result);
+        // Vertices of a layer with no predecessor become sources, so layers
+        // only bound the level count from above
+        assertTrue(result.getLevelCount() <= layers);
+        assertTrue(sort.getMetrics().getCounter("parallel_levels") > 0);
+        assertEquals(dag.getEdgeCount(), sort.getMetrics().getCounter("edges_processed"));
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        CSRGraph dag = new ScalableGraphGenerator(8).erdosRenyiDAG(30_000, 0.0005);
+
+        ParallelKahnTopologicalSort.LevelOrder parallel = new ParallelKahnTopologicalSort(4, 1).sort(dag);
+        ParallelKahnTopologicalSort.LevelOrder sequential =
+                new ParallelKahnTopologicalSort(1, Integer.MAX_VALUE).sort(dag);
+
+        assertValidLevels(dag, parallel);
+        assertArrayEquals(sequential.getOrder(), parallel.getOrder());
+        assertArrayEquals(sequential.getLevelOffsets(), parallel.getLevelOffsets());
+    }
+
+    @Test
+    public void testLongChain() {
+        int n = 200_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+
+        ParallelKahnTopologicalSort.LevelOrder result = new ParallelKahnTopologicalSort(4).sort(graph);
+        assertEquals(n, result.getLevelCount());
+        assertEquals(1, result.getMaxWidth());
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        ParallelKahnTopologicalSort.LevelOrder result = new ParallelKahnTopologicalSort(2).sort(new Graph(0, true));
+        assertEquals(0, result.getLevelCount());
+        assertArrayEquals(new int[]{0}, result.getLevelOffsets());
+    }
+
+    @Test
+    public void testCycleDetection() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 1, 1);
+        graph.addEdge(2, 3, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelKahnTopologicalSort(2).sort(graph));
+    }
+}
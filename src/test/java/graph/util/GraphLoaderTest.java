@@ -0,0 +1,237 @@
+package graph.util;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.MappedCSRGraph;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStreamingMatchesTreeLoader() throws IOException {
+        String[] files = {"data/small_1.json", "data/medium_3.json", "data/large_2.json"};
+        for (String file : files) {
+            Graph expected = GraphLoader.loadFromJson(file);
+            Graph streamed = GraphLoader.loadFromJsonStreaming(file);
+
+            assertEquals(expected.toString(), streamed.toString());
+            assertEquals(expected.toString(), GraphLoader.loadCSRFromJson(file).toGraph().toString());
+        }
+    }
+
+    @Test
+    public void testFieldsInAnyOrder() throws IOException {
+        Path file = tempDir.resolve("reordered.json");
+        Files.writeString(file, "{\"edges\": [{\"w\": 2, \"v\": 1, \"u\": 0}, {\"u\": 1, \"v\": 2, \"w\": 3.5, \"note\": \"x\"}],"
+                + " \"source\": 1, \"meta\": {\"a\": [1, 2]}, \"weight_model\": \"edge\", \"n\": 3, \"directed\": false}");
+
+        Graph graph = GraphLoader.loadFromJsonStreaming(file.toString());
+
+        assertEquals(3, graph.getN());
+        assertFalse(graph.isDirected());
+        assertEquals(1, graph.getProperty("source"));
+        assertEquals("edge", graph.getProperty("weight_model"));
+        assertEquals(2, graph.getNeighbors(1).size());
+        assertEquals(3.5, graph.getNeighbors(2).get(0).getWeight(), 1e-9);
+
+        CSRGraph csr = GraphLoader.loadCSRFromJson(file.toString());
+        assertEquals(4, csr.getEdgeCount());
+    }
+
+    @Test
+    public void testMissingHeaderRejected() throws IOException {
+        Path file = tempDir.resolve("broken.json");
+        Files.writeString(file, "{\"directed\": true, \"edges\": []}");
+
+        assertThrows(IOException.class, () -> GraphLoader.loadFromJsonStreaming(file.toString()));
+    }
+
+    @Test
+    public void testIncompleteEdgeRejected() throws IOException {
+        Path file = tempDir.resolve("edge.json");
+        Files.writeString(file, "{\"n\": 2, \"directed\": true, \"edges\": [{\"u\": 0, \"w\": 1}]}");
+
+        assertThrows(IOException.class, () -> GraphLoader.loadCSRFromJson(file.toString()));
+    }
+
+    @Test
+    public void testStreamingLoadersAreStrict() throws IOException {
+        String valid = "{\"n\": 2, \"directed\": true, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}]}";
+        String[] malformed = {
+                valid.replace("\"n\"", "n"),
+                "// comment\n" + valid,
+                valid + " trailing",
+                valid + " {}",
+        };
+        for (int i = 0; i < malformed.length; i++) {
+            String file = tempDir.resolve("malformed" + i + ".json").toString();
+            Files.writeString(Path.of(file), malformed[i]);
+            assertThrows(IOException.class, () -> GraphLoader.loadFromJsonStreaming(file), malformed[i]);
+            assertThrows(IOException.class, () -> GraphLoader.loadCSRFromJson(file), malformed[i]);
+        }
+        // loadFromJson keeps its lenient Gson.fromJson parsing
+        assertEquals(1, GraphLoader.loadFromJson(tempDir.resolve("malformed0.json").toString()).getNeighbors(0).size());
+        assertEquals(1, GraphLoader.loadFromJson(tempDir.resolve("malformed1.json").toString()).getNeighbors(0).size());
+
+        String file = tempDir.resolve("valid.json").toString();
+        Files.writeString(Path.of(file), valid + "\n\n");
+        assertEquals(1, GraphLoader.loadFromJson(file).getNeighbors(0).size());
+        assertEquals(1, GraphLoader.loadCSRFromJson(file).getEdgeCount());
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        Graph graph = GraphLoader.loadFromJson("data/large_3.json");
+        graph.setProperty("source", 4);
+        String file = tempDir.resolve("large_3.bin").toString();
+
+        GraphLoader.saveToBinary(graph, file);
+        MappedCSRGraph mapped = GraphLoader.mapBinary(file);
+
+        assertEquals(graph.getN(), mapped.getN());
+        assertEquals(graph.toCSR().getEdgeCount(), mapped.getEdgeCount());
+        assertTrue(mapped.isDirected());
+        assertEquals(4, mapped.getSource());
+        assertEquals(graph.toString(), mapped.toCSR().toGraph().toString());
+        // Algorithms traverse the mapped buffers directly
+        assertEquals(new TarjanSCC().findSCCs(graph), new TarjanSCC().findSCCs(mapped));
+    }
+
+    @Test
+    public void testBinaryUndirectedAndEmpty() throws IOException {
+        Graph graph = new Graph(3, false);
+        graph.addEdge(0, 1, 2.5);
+        String file = tempDir.resolve("undirected.bin").toString();
+        GraphLoader.saveToBinary(graph, file);
+
+        MappedCSRGraph mapped = GraphLoader.mapBinary(file);
+        assertFalse(mapped.isDirected());
+        assertEquals(-1, mapped.getSource());
+        assertEquals(2, mapped.getEdgeCount());
+        assertEquals(2.5, mapped.weight(mapped.edgeStart(1)), 1e-9);
+
+        String empty = tempDir.resolve("empty.bin").toString();
+        GraphLoader.saveToBinary(new Graph(0, true), empty);
+        assertEquals(0, GraphLoader.mapBinary(empty).getN());
+    }
+
+    @Test
+    public void testBinaryRejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("foreign.bin");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> GraphLoader.mapBinary(file.toString()));
+    }
+
+    private static void assertSameCSR(CSRGraph expected, CSRGraph actual) {
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int u = 0; u < expected.getN(); u++) {
+            assertEquals(expected.edgeStart(u), actual.edgeStart(u));
+            for (int e = expected.edgeStart(u); e < expected.edgeEnd(u); e++) {
+                assertEquals(expected.target(e), actual.target(e));
+                assertEquals(expected.weight(e), actual.weight(e), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testStreamedJsonMatchesInMemoryGenerator() throws IOException {
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(11, 3);
+        String file = tempDir.resolve("rmat.json").toString();
+        try (JsonGraphWriter writer = new JsonGraphWriter(file, 1 << 12, true, "edge", 0)) {
+            generator.rmat(12, 8, writer);
+            assertEquals(8 << 12, writer.getEdgeCount());
+            writer.finish();
+        }
+
+        assertSameCSR(generator.rmat(12, 8), GraphLoader.loadCSRFromJson(file));
+        Graph loaded = GraphLoader.loadFromJson(file);
+        assertEquals(0, loaded.getProperty("source"));
+        assertEquals("edge", loaded.getProperty("weight_model"));
+    }
+
+    @Test
+    public void testStreamedBinaryMatchesInMemoryGenerator() throws IOException {
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(5, 2);
+        String file = tempDir.resolve("layered.bin").toString();
+        // Enough edges to flush every buffer several times
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file, 60_000, true, 0)) {
+            generator.layeredDAG(300, 200, 5, writer);
+            writer.finish();
+        }
+        MappedCSRGraph mapped = GraphLoader.mapBinary(file);
+        assertEquals(0, mapped.getSource());
+        assertSameCSR(generator.layeredDAG(300, 200, 5), mapped.toCSR());
+
+        String dagFile = tempDir.resolve("dag.bin").toString();
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(dagFile, 40_000, true)) {
+            generator.erdosRenyiDAG(40_000, 0.0002, writer);
+            writer.finish();
+        }
+        assertSameCSR(generator.erdosRenyiDAG(40_000, 0.0002), GraphLoader.mapBinary(dagFile).toCSR());
+    }
+
+    @Test
+    public void testWritersDiscardUnfinishedFiles() throws IOException {
+        Path binary = tempDir.resolve("partial.bin");
+        assertThrows(IllegalStateException.class, () -> {
+            try (BinaryGraphWriter writer = new BinaryGraphWriter(binary.toString(), 6, true)) {
+                writer.addEdge(1, 4, 2.0);
+                throw new IllegalStateException("generator failed");
+            }
+        });
+        Path json = tempDir.resolve("partial.json");
+        assertThrows(IllegalStateException.class, () -> {
+            try (JsonGraphWriter writer = new JsonGraphWriter(json.toString(), 6, true)) {
+                writer.addEdge(1, 4, 2.0);
+                throw new IllegalStateException("generator failed");
+            }
+        });
+
+        // Neither the outputs nor the spooled weights are left behind
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testBinaryWriterTrailingIsolatedVertices() throws IOException {
+        String file = tempDir.resolve("sparse.bin").toString();
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file, 6, true)) {
+            writer.addEdge(1, 4, 2.0);
+            writer.addEdge(1, 0, 3.0);
+            writer.addEdge(3, 3, 1.5);
+            assertThrows(IllegalArgumentException.class, () -> writer.addEdge(2, 0, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> writer.addEdge(3, 6, 1.0));
+            writer.finish();
+        }
+
+        MappedCSRGraph mapped = GraphLoader.mapBinary(file);
+        assertEquals(3, mapped.getEdgeCount());
+        assertEquals(0, mapped.outDegree(0));
+        assertEquals(2, mapped.outDegree(1));
+        assertEquals(1, mapped.outDegree(3));
+        assertEquals(0, mapped.outDegree(5));
+        assertEquals(0, mapped.target(mapped.edgeStart(1) + 1));
+        assertEquals(1.5, mapped.weight(mapped.edgeStart(3)), 1e-9);
+    }
+
+    @Test
+    public void testSaveToJsonStillRoundTrips() throws IOException {
+        Graph graph = TestGraphFactory.createTestMixedGraph(40, 0.2);
+        String file = tempDir.resolve("mixed.json").toString();
+        GraphLoader.saveToJson(graph, file);
+
+        assertSameCSR(graph.toCSR(), GraphLoader.loadFromJson(file).toCSR());
+    }
+}
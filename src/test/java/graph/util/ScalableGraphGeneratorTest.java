@@ -0,0 +1,105 @@
+package graph.util;
+
+import graph.model.CSRGraph;
+import graph.topo.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalableGraphGeneratorTest {
+
+    private static void assertSameGraph(CSRGraph expected, CSRGraph actual) {
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int u = 0; u < expected.getN(); u++) {
+            assertEquals(expected.edgeStart(u), actual.edgeStart(u));
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+        }
+    }
+
+    @Test
+    public void testOutputIndependentOfParallelism() {
+        ScalableGraphGenerator sequential = new ScalableGraphGenerator(7, 1);
+        ScalableGraphGenerator parallel = new ScalableGraphGenerator(7, 4);
+
+        assertSameGraph(sequential.erdosRenyi(50_000, 0.0001), parallel.erdosRenyi(50_000, 0.0001));
+        assertSameGraph(sequential.rmat(16, 8), parallel.rmat(16, 8));
+        assertSameGraph(sequential.layeredDAG(100, 500, 3), parallel.layeredDAG(100, 500, 3));
+
+        CSRGraph graph = parallel.rmat(16, 8);
+        CSRGraph other = new ScalableGraphGenerator(8, 4).rmat(16, 8);
+        boolean differs = false;
+        for (int e = 0; e < other.getEdgeCount() && !differs; e++) {
+            differs = other.target(e) != graph.target(e);
+        }
+        assertTrue(differs, "Different seeds should give different graphs");
+    }
+
+    @Test
+    public void testErdosRenyiEdgeCount() {
+        int n = 100_000;
+        double p = 0.0002;
+        CSRGraph graph = new ScalableGraphGenerator(1).erdosRenyi(n, p);
+
+        double expected = (double) n * (n - 1) * p;
+        double sigma = Math.sqrt(expected);
+        assertEquals(expected, graph.getEdgeCount(), 6 * sigma);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                assertNotEquals(u, graph.target(e), "No self loops");
+            }
+        }
+    }
+
+    @Test
+    public void testErdosRenyiExtremes() {
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(1);
+        assertEquals(0, generator.erdosRenyi(1000, 0).getEdgeCount());
+        assertEquals(20 * 19, generator.erdosRenyi(20, 1).getEdgeCount());
+        assertEquals(20 * 19 / 2, generator.erdosRenyiDAG(20, 1).getEdgeCount());
+        assertThrows(IllegalArgumentException.class, () -> generator.erdosRenyi(10, 1.5));
+    }
+
+    @Test
+    public void testErdosRenyiDAGIsAcyclic() {
+        CSRGraph dag = new ScalableGraphGenerator(3).erdosRenyiDAG(200_000, 0.00005);
+        assertTrue(dag.getEdgeCount() > 0);
+        for (int u = 0; u < dag.getN(); u++) {
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                assertTrue(dag.target(e) > u);
+            }
+        }
+    }
+
+    @Test
+    public void testRmatIsSkewed() {
+        CSRGraph graph = new ScalableGraphGenerator(5).rmat(14, 16);
+        assertEquals(1 << 14, graph.getN());
+        assertEquals(16 << 14, graph.getEdgeCount());
+
+        int maxDegree = 0;
+        for (int u = 0; u < graph.getN(); u++) {
+            maxDegree = Math.max(maxDegree, graph.outDegree(u));
+        }
+        // Power-law: the hub is far above the average degree of 16
+        assertTrue(maxDegree > 20 * 16, "max degree " + maxDegree);
+    }
+
+    @Test
+    public void testLayeredDAGShape() {
+        int layers = 40;
+        int width = 25;
+        CSRGraph dag = new ScalableGraphGenerator(9).layeredDAG(layers, width, 2);
+
+        assertEquals(layers * width, dag.getN());
+        assertEquals((layers - 1) * width * 2, dag.getEdgeCount());
+        for (int u = 0; u < dag.getN(); u++) {
+            for (int e = dag.edgeStart(u); e < dag.edgeEnd(u); e++) {
+                assertEquals(u / width + 1, dag.target(e) / width);
+            }
+        }
+        assertEquals(dag.getN(), new KahnTopologicalSort().topologicalOrder(dag).length);
+    }
+}
@@ -0,0 +1,142 @@
+package graph.util;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.scc.SccResult;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexReorderingTest {
+
+    @Test
+    public void testOrderingsArePermutations() {
+        CSRGraph graph = TestGraphFactory.createTestMixedGraph(200, 0.03).toCSR();
+        for (VertexReordering reordering : Arrays.asList(VertexReordering.bfs(graph),
+                VertexReordering.reverseCuthillMcKee(graph), VertexReordering.degreeSorted(graph))) {
+            int[] ids = reordering.getNewToOld();
+            Arrays.sort(ids);
+            for (int i = 0; i < ids.length; i++) {
+                assertEquals(i, ids[i]);
+                assertEquals(i, reordering.toNew(reordering.toOriginal(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testApplyRenamesArcs() {
+        CSRGraph graph = TestGraphFactory.createTestMixedGraph(50, 0.1).toCSR();
+        VertexReordering reordering = VertexReordering.degreeSorted(graph);
+        CSRGraph permuted = reordering.apply(graph);
+
+        assertEquals(graph.getEdgeCount(), permuted.getEdgeCount());
+        for (int u = 0; u < graph.getN(); u++) {
+            int nu = reordering.toNew(u);
+            assertEquals(graph.outDegree(u), permuted.outDegree(nu));
+            for (int i = 0; i < graph.outDegree(u); i++) {
+                assertEquals(reordering.toNew(graph.target(graph.edgeStart(u) + i)),
+                        permuted.target(permuted.edgeStart(nu) + i));
+                assertEquals(graph.weight(graph.edgeStart(u) + i), permuted.weight(permuted.edgeStart(nu) + i));
+            }
+        }
+    }
+
+    @Test
+    public void testDegreeSortedPutsHubsFirst() {
+        CSRGraph graph = TestGraphFactory.createTestMixedGraph(100, 0.05).toCSR();
+        CSRGraph reverse = graph.getTranspose();
+        VertexReordering reordering = VertexReordering.degreeSorted(graph);
+        for (int i = 1; i < graph.getN(); i++) {
+            int previous = reordering.toOriginal(i - 1);
+            int current = reordering.toOriginal(i);
+            assertTrue(graph.outDegree(previous) + reverse.outDegree(previous)
+                    >= graph.outDegree(current) + reverse.outDegree(current));
+        }
+    }
+
+    @Test
+    public void testReverseCuthillMcKeeNarrowsScrambledGrid() {
+        // A 40 x 40 grid with randomly scrambled ids
+        int side = 40;
+        int n = side * side;
+        int[] scramble = new int[n];
+        for (int i = 0; i < n; i++) {
+            scramble[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = scramble[i];
+            scramble[i] = scramble[j];
+            scramble[j] = tmp;
+        }
+        EdgeList edges = new EdgeList();
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                if (c + 1 < side) edges.add(scramble[r * side + c], scramble[r * side + c + 1], 1);
+                if (r + 1 < side) edges.add(scramble[r * side + c], scramble[(r + 1) * side + c], 1);
+            }
+        }
+        CSRGraph graph = edges.toCSR(n, true);
+
+        CSRGraph banded = VertexReordering.reverseCuthillMcKee(graph).apply(graph);
+        assertTrue(VertexReordering.averageArcSpan(banded) < VertexReordering.averageArcSpan(graph) / 10);
+    }
+
+    @Test
+    public void testSccResultsMapBack() {
+        CSRGraph graph = TestGraphFactory.createTestGraphWithSCCs(150, 12).toCSR();
+        VertexReordering reordering = VertexReordering.bfs(graph);
+        CSRGraph permuted = reordering.apply(graph);
+
+        SccResult expected = new TarjanSCC().decompose(graph);
+        SccResult mapped = reordering.toOriginal(new TarjanSCC().decompose(permuted));
+        assertEquals(expected.getComponentCount(), mapped.getComponentCount());
+        for (int u = 0; u < graph.getN(); u++) {
+            for (int v = 0; v < graph.getN(); v += 5) {
+                assertEquals(expected.sameComponent(u, v), mapped.sameComponent(u, v));
+            }
+        }
+        assertEquals(new TarjanSCC().condense(graph).getComponentCount(),
+                reordering.toOriginal(new TarjanSCC().condense(permuted)).getComponentCount());
+    }
+
+    @Test
+    public void testDagPathResultsMapBack() {
+        CSRGraph dag = new ScalableGraphGenerator(8).erdosRenyiDAG(300, 0.02);
+        VertexReordering reordering = VertexReordering.reverseCuthillMcKee(dag);
+        CSRGraph permuted = reordering.apply(dag);
+
+        DAGShortestPath shortestPath = new DAGShortestPath();
+        DAGShortestPath.ShortestPathResult expected = shortestPath.findShortestPathTree(dag, 0);
+        DAGShortestPath.ShortestPathResult mapped =
+                reordering.toOriginal(shortestPath.findShortestPathTree(permuted, reordering.toNew(0)));
+        assertEquals(0, mapped.getSource());
+        assertArrayEquals(expected.getDistances(), mapped.getDistances());
+        for (int v = 0; v < dag.getN(); v += 7) {
+            if (mapped.hasPathTo(v)) {
+                List<Integer> path = mapped.getPath(v);
+                assertEquals(0, (int) path.get(0));
+                assertEquals(v, (int) path.get(path.size() - 1));
+            }
+        }
+
+        DAGLongestPath longestPath = new DAGLongestPath();
+        DAGLongestPath.CriticalPathResult critical = reordering.toOriginal(
+                longestPath.findCriticalPathAllSources(permuted));
+        assertEquals(longestPath.findCriticalPathAllSources(dag).getLength(), critical.getLength(), 1e-9);
+        assertEquals(critical.getStartVertex(), (int) critical.getPath().get(0));
+    }
+
+    @Test
+    public void testRejectsInvalidPermutation() {
+        assertThrows(IllegalArgumentException.class, () -> VertexReordering.of(new int[]{0, 0, 1}));
+        assertThrows(IllegalArgumentException.class, () -> VertexReordering.identity(3).apply(new CSRGraph(
+                2, true, new int[]{0, 0, 0}, new int[0], new double[0])));
+    }
+}
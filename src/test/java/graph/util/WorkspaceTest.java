@@ -0,0 +1,108 @@
+package graph.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceTest {
+
+    @Test
+    public void testBeginUnmarksWithoutClearing() {
+        Workspace workspace = new Workspace(1, 1);
+        workspace.begin(10);
+        workspace.mark(3);
+        workspace.ints(0)[3] = 42;
+        int[] ints = workspace.ints(0);
+        assertTrue(workspace.isMarked(3));
+        assertFalse(workspace.isMarked(4));
+
+        workspace.begin(8);
+        assertFalse(workspace.isMarked(3));
+        // Smaller queries reuse the same arrays untouched
+        assertSame(ints, workspace.ints(0));
+        assertEquals(42, workspace.ints(0)[3]);
+        assertEquals(10, workspace.capacity());
+
+        workspace.begin(20);
+        assertEquals(20, workspace.ints(0).length);
+        assertEquals(20, workspace.doubles(0).length);
+    }
+
+    @Test
+    public void testShrinksAfterManySmallQueries() {
+        Workspace workspace = new Workspace(1, 1);
+        int large = 4 * Workspace.MIN_SHRINK_CAPACITY;
+        workspace.begin(large);
+
+        // One larger query in between restarts the count
+        for (int i = 0; i < Workspace.SHRINK_AFTER - 1; i++) {
+            workspace.begin(100);
+        }
+        workspace.begin(large / 2);
+        for (int i = 0; i < Workspace.SHRINK_AFTER - 1; i++) {
+            workspace.begin(100);
+        }
+        assertEquals(large, workspace.capacity());
+
+        workspace.mark(5);
+        workspace.begin(100);
+        assertEquals(100, workspace.capacity());
+        assertEquals(100, workspace.ints(0).length);
+        assertEquals(100, workspace.doubles(0).length);
+        assertFalse(workspace.isMarked(5));
+
+        // Small workspaces are never shrunk
+        for (int i = 0; i < 2 * Workspace.SHRINK_AFTER; i++) {
+            workspace.begin(10);
+        }
+        assertEquals(100, workspace.capacity());
+    }
+
+    @Test
+    public void testRelease() {
+        Workspace workspace = new Workspace(2, 1).begin(50);
+        workspace.release();
+
+        assertEquals(0, workspace.capacity());
+        assertEquals(0, workspace.ints(1).length);
+        workspace.begin(8).mark(7);
+        assertTrue(workspace.isMarked(7));
+    }
+
+    @Test
+    public void testNextEpochKeepsPreviousStamps() {
+        Workspace workspace = new Workspace(0, 0).begin(4);
+        workspace.mark(1);
+        int first = workspace.getEpoch();
+        workspace.nextEpoch();
+
+        assertFalse(workspace.isMarked(1));
+        assertEquals(first, workspace.stamp(1));
+    }
+
+    @Test
+    public void testEpochWrapAroundClearsStamps() {
+        Workspace workspace = new Workspace(0, 0).begin(4);
+        workspace.mark(2);
+        workspace.setEpoch(Integer.MAX_VALUE - 1);
+        workspace.mark(0);
+
+        workspace.begin(4);
+        assertEquals(1, workspace.getEpoch());
+        for (int v = 0; v < 4; v++) {
+            assertFalse(workspace.isMarked(v));
+        }
+    }
+
+    @Test
+    public void testPerThreadInstances() throws InterruptedException {
+        ThreadLocal<Workspace> local = Workspace.perThread(1, 0);
+        Workspace main = local.get();
+        Workspace[] other = new Workspace[1];
+        Thread thread = new Thread(() -> other[0] = local.get());
+        thread.start();
+        thread.join();
+
+        assertSame(main, local.get());
+        assertNotSame(main, other[0]);
+    }
+}